@@ -0,0 +1,119 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Benchmark;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação de conflito de uma reserva, com a sala já tendo {@code reservasPorSala}
+ * reservas (20 por dia). Cada pedido cai 10 minutos depois de uma reserva existente e é
+ * recusado, então o banco não muda entre as invocações. A reserva avulsa descobre o
+ * conflito na chave única dos slots; o lote, no mapa de ocupação carregado do banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflitoDeHorarioBenchmark {
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2025, 1, 1);
+    private static final int RESERVAS_POR_DIA = 20;
+    private static final int PEDIDOS = 1024;
+
+    @Param({"20", "200", "2000"})
+    private int reservasPorSala;
+
+    private ConfigurableApplicationContext contexto;
+    private SalaReservadaService service;
+    private Long salaId;
+    private final List<SalaResevada> pedidos = new ArrayList<>(PEDIDOS);
+    private int proximo;
+
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = ContextoDaAplicacao.iniciar();
+        service = contexto.getBean(SalaReservadaService.class);
+        salaId = contexto.getBean(SalasRepository.class).save(new Sala(null, "Benchmark", "sala-benchmark", 20L, "Térreo")).getId();
+
+        List<SalaResevada> existentes = new ArrayList<>(reservasPorSala);
+        for (int i = 0; i < reservasPorSala; i++) {
+            existentes.add(pedido(i / RESERVAS_POR_DIA, inicio(i).toString()));
+        }
+        for (int de = 0; de < existentes.size(); de += SalaReservadaService.TAMANHO_MAXIMO_DO_LOTE) {
+            service.reservarEmLote(existentes.subList(de, Math.min(de + SalaReservadaService.TAMANHO_MAXIMO_DO_LOTE, existentes.size())));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < PEDIDOS; i++) {
+            int existente = random.nextInt(reservasPorSala);
+            pedidos.add(pedido(existente / RESERVAS_POR_DIA, inicio(existente).plusMinutes(10).toString()));
+        }
+        if (reservaAvulsaComConflito().getStatusCode() != HttpStatus.CONFLICT) {
+            throw new IllegalStateException("O pedido deveria ser recusado por conflito");
+        }
+    }
+
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+
+    @Benchmark
+    public ResponseEntity<?> reservaAvulsaComConflito() {
+        SalaResevada pedido = proximoPedido();
+        return service.reservaSala(salaId, pedido.getResponsavel_pela_sala(), pedido.getData(), pedido.getHorarioAgendado());
+    }
+
+
+    @Benchmark
+    public ResponseEntity<?> loteComConflito() {
+        return service.reservarEmLote(List.of(proximoPedido()));
+    }
+
+
+    private SalaResevada proximoPedido() {
+        SalaResevada pedido = pedidos.get(proximo);
+        proximo = (proximo + 1) & (PEDIDOS - 1);
+        return pedido;
+    }
+
+
+    private static LocalTime inicio(int reserva) {
+        return LocalTime.of(7, 0).plusMinutes(40L * (reserva % RESERVAS_POR_DIA));
+    }
+
+
+    private SalaResevada pedido(int dia, String horario) {
+        SalaResevada pedido = new SalaResevada(salaId, "benchmark", null, horario);
+        pedido.setData(PRIMEIRO_DIA.plusDays(dia));
+        return pedido;
+    }
+}
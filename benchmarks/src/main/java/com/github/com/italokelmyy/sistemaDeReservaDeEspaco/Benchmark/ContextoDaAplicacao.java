@@ -0,0 +1,54 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Benchmark;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SistemaDeReservaDeEspacoApplication;
+import org.springframework.boot.ApplicationContextFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe a aplicação inteira num H2 em memória, como o {@code @SpringBootTest} dos testes:
+ * contexto web sem servidor, sem consumidores do RabbitMQ e com o relay do outbox parado.
+ * Os argumentos extras sobrescrevem as propriedades padrão. Com
+ * {@code -Dbenchmark.datasource.url} (e {@code .username}/{@code .password}) o banco passa a
+ * ser outro, como um MySQL de teste: o esquema é recriado nele.
+ */
+final class ContextoDaAplicacao {
+
+    private ContextoDaAplicacao() {
+    }
+
+
+    static ConfigurableApplicationContext iniciar(String... extras) {
+        List<String> argumentos = new ArrayList<>(List.of("--spring.profiles.active=benchmark",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.rabbitmq.host=localhost",
+                "--spring.rabbitmq.port=5672",
+                "--spring.rabbitmq.username=guest",
+                "--spring.rabbitmq.password=guest",
+                "--spring.rabbitmq.listener.simple.auto-startup=false",
+                "--eventos.reserva.relay-ms=3600000",
+                "--SERVER_SSL_KEY_STORE_PASSWORD=benchmark",
+                "--JWT_SECRET_KEY=eAhGpD9SJ9Or2IReItSkhsozIEMTvIRT2jPd76YO89LsCWhv20",
+                "--JWT_EXPIRATION=3600000"));
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url != null) {
+            argumentos.add("--spring.datasource.url=" + url);
+            argumentos.add("--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", ""));
+            argumentos.add("--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""));
+        }
+        argumentos.addAll(List.of(extras));
+        return new SpringApplicationBuilder(SistemaDeReservaDeEspacoApplication.class)
+                .contextFactory(ApplicationContextFactory.of(() -> new GenericWebApplicationContext(new MockServletContext())))
+                .run(argumentos.toArray(String[]::new));
+    }
+}
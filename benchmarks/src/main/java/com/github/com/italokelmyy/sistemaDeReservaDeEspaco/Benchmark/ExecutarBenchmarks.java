@@ -0,0 +1,49 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Roda os benchmarks com as mesmas opções de linha de comando do JMH. Sem {@code -rf}/{@code -rff},
+ * o resultado vai em JSON para {@code resultados/jmh-<data>.json}, um arquivo por execução,
+ * para comparar rodadas.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar [filtro] [opções do JMH]}
+ */
+public class ExecutarBenchmarks {
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        if (linhaDeComando.shouldHelp()) {
+            linhaDeComando.showHelp();
+            return;
+        }
+        if (linhaDeComando.shouldList()) {
+            new Runner(linhaDeComando).list();
+            return;
+        }
+
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaDeComando);
+        if (!linhaDeComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linhaDeComando.getResult().hasValue()) {
+            Path resultado = Path.of("resultados", "jmh-" + LocalDateTime.now().format(DATA) + ".json");
+            Files.createDirectories(resultado.getParent());
+            opcoes.result(resultado.toString());
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Benchmark;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.ResultadoDaReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linhas de reserva gravadas por segundo, em lotes de 500, com o batch JDBC do Hibernate
+ * desligado ({@code tamanhoDoBatch=1}) e no padrão da aplicação (50). O lote pelo serviço
+ * inclui a verificação de conflito, os 30 slots de cada reserva e o evento do outbox; o
+ * {@code saveAll} mede só os inserts em {@code salareservada}. Cada invocação usa um dia
+ * novo, então nenhuma reserva é recusada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(InsercaoEmLoteBenchmark.RESERVAS_POR_LOTE)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsercaoEmLoteBenchmark {
+    static final int RESERVAS_POR_LOTE = 500;
+    private static final int SALAS = 20;
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2025, 1, 1);
+
+    @Param({"1", "50"})
+    private int tamanhoDoBatch;
+
+    private ConfigurableApplicationContext contexto;
+    private SalaReservadaService service;
+    private SalaResevadaRepository resevadaRepository;
+    private TransactionTemplate transactionTemplate;
+    private final List<Sala> salas = new ArrayList<>(SALAS);
+    private int dia;
+
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = ContextoDaAplicacao.iniciar("--spring.jpa.properties.hibernate.jdbc.batch_size=" + tamanhoDoBatch);
+        service = contexto.getBean(SalaReservadaService.class);
+        resevadaRepository = contexto.getBean(SalaResevadaRepository.class);
+        transactionTemplate = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        SalasRepository salasRepository = contexto.getBean(SalasRepository.class);
+        for (int i = 0; i < SALAS; i++) {
+            salas.add(salasRepository.save(new Sala(null, "Benchmark", "sala-lote-" + i, 20L, "Térreo")));
+        }
+
+        Object resultados = reservarEmLote().getBody();
+        if (!(resultados instanceof List<?> lista) || lista.stream().anyMatch(r -> ((ResultadoDaReserva) r).reservaId() == null)) {
+            throw new IllegalStateException("Todas as reservas do lote deveriam ser aceitas");
+        }
+    }
+
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+
+    @Benchmark
+    public ResponseEntity<?> reservarEmLote() {
+        return service.reservarEmLote(pedidos(dia++));
+    }
+
+
+    @Benchmark
+    public List<SalaResevada> saveAll() {
+        LocalDate data = PRIMEIRO_DIA.plusDays(dia++);
+        List<SalaResevada> reservas = new ArrayList<>(RESERVAS_POR_LOTE);
+        for (int i = 0; i < RESERVAS_POR_LOTE; i++) {
+            Sala sala = salas.get(i % SALAS);
+            LocalDateTime inicio = LocalDateTime.of(data, horario(i / SALAS));
+            SalaResevada reserva = new SalaResevada(sala.getId(), "benchmark", sala.getCodigo(), inicio.toLocalTime().toString());
+            reserva.setData(data);
+            reserva.setInicio(inicio);
+            reserva.setFim(inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+            reserva.setStatus(StatusDaSala.Ocupada);
+            reservas.add(reserva);
+        }
+        return transactionTemplate.execute(status -> resevadaRepository.saveAll(reservas));
+    }
+
+
+    private List<SalaResevada> pedidos(int deslocamento) {
+        LocalDate data = PRIMEIRO_DIA.plusDays(deslocamento);
+        List<SalaResevada> pedidos = new ArrayList<>(RESERVAS_POR_LOTE);
+        for (int i = 0; i < RESERVAS_POR_LOTE; i++) {
+            SalaResevada pedido = new SalaResevada(salas.get(i % SALAS).getId(), "benchmark", null, horario(i / SALAS).toString());
+            pedido.setData(data);
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+
+
+    /**
+     * 25 meias horas seguidas por sala a partir das 07:00, sem conflito entre si.
+     */
+    private static LocalTime horario(int indice) {
+        return LocalTime.of(7, 0).plusMinutes(30L * indice);
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização das listas de salas e de reservas que a API devolve, com um
+ * {@link ObjectMapper} montado como o do Spring Boot, e a leitura de um lote de reservas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+    private static final TypeReference<List<SalaResevada>> LISTA_DE_RESERVAS = new TypeReference<>() {
+    };
+
+    @Param({"20", "500"})
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<Sala> salas;
+    private List<SalaResevada> reservas;
+    private String reservasEmJson;
+
+
+    @Setup
+    public void preparar() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        salas = new ArrayList<>(tamanho);
+        reservas = new ArrayList<>(tamanho);
+        LocalDateTime inicio = LocalDate.of(2025, 1, 1).atTime(7, 0);
+        for (long id = 1; id <= tamanho; id++) {
+            Sala sala = new Sala(id, "Tecnologia", "sala-" + id, 20L, "Andar " + id % 10);
+            sala.setStatus(StatusDaSala.Disponivel);
+            salas.add(sala);
+
+            SalaResevada reserva = new SalaResevada(id, "responsavel-" + id, sala.getCodigo(), "07:00");
+            reserva.setId(id);
+            reserva.setData(inicio.toLocalDate());
+            reserva.setInicio(inicio);
+            reserva.setFim(inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+            reserva.setStatus(StatusDaSala.Ocupada);
+            reservas.add(reserva);
+        }
+        reservasEmJson = objectMapper.writeValueAsString(reservas);
+    }
+
+
+    @Benchmark
+    public byte[] escreverSalas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(salas);
+    }
+
+
+    @Benchmark
+    public byte[] escreverReservas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservas);
+    }
+
+
+    @Benchmark
+    public List<SalaResevada> lerReservas() throws JsonProcessingException {
+        return objectMapper.readValue(reservasEmJson, LISTA_DE_RESERVAS);
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Benchmark;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtUtil;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.TokenVerificado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.TokensVerificados;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de gerar um token no login e de autenticar uma requisição por ele: como o filtro
+ * fazia antes (três parses, cada um com um parser novo), com um parse só e com o token já
+ * no cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String CHAVE = "eAhGpD9SJ9Or2IReItSkhsozIEMTvIRT2jPd76YO89LsCWhv20";
+
+    private SecretKey secretKey;
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+
+    @Setup
+    public void preparar() {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secretKey", CHAVE);
+        ReflectionTestUtils.setField(jwtConfig, "expiration", 3_600_000L);
+        secretKey = jwtConfig.secretKey();
+        jwtUtil = new JwtUtil(jwtConfig, new TokensVerificados(10_000));
+        userDetails = User.builder().username("teste-t").password("senha").roles("USER").build();
+        token = jwtUtil.generadorDeKey(userDetails);
+    }
+
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.generadorDeKey(userDetails, 1L);
+    }
+
+
+    @Benchmark
+    public boolean tresParses() {
+        String usuario = parseComParserNovo(token).getSubject();
+        return usuario.equals(parseComParserNovo(token).getSubject())
+                && !parseComParserNovo(token).getExpiration().before(new Date());
+    }
+
+
+    @Benchmark
+    public Claims umParse() {
+        return jwtUtil.claimsAll(token);
+    }
+
+
+    @Benchmark
+    public Optional<TokenVerificado> tokenNoCache() {
+        return jwtUtil.verificar(token);
+    }
+
+
+    private Claims parseComParserNovo(String key) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(key)
+                .getPayload();
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Benchmark;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.CodificadorDeSenhas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O BCrypt que o {@code UsuarioService} usa: o hash do cadastro e a conferência do login,
+ * para cada custo de {@code seguranca.bcrypt.custo}. Cada ponto a mais no custo dobra o tempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SenhaBenchmark {
+    private static final String SENHA = "Senha@Benchmark123";
+
+    @Param({"10", "12"})
+    private int custo;
+
+    private CodificadorDeSenhas codificador;
+    private String hash;
+
+
+    @Setup
+    public void preparar() {
+        codificador = new CodificadorDeSenhas(custo);
+        hash = codificador.encode(SENHA);
+    }
+
+
+    @Benchmark
+    public String cadastro() {
+        return codificador.encode(SENHA);
+    }
+
+
+    @Benchmark
+    public boolean login() {
+        return codificador.matches(SENHA, hash);
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índices das salas em memória para a busca de salas livres. Cada sala recebe uma
+ * posição, em ordem crescente de capacidade, e os filtros viram conjuntos de bits
+ * sobre essas posições: capacidade mínima é um intervalo contínuo e área e
+ * localização são um BitSet por valor. O índice é imutável e é refeito na próxima
+ * busca depois que uma sala é adicionada ou removida, nesta instância ou, pela
+ * {@link VersaoDasSalas}, em outra. A trava é um ReentrantLock, e
+ * não {@code synchronized}, porque a reconstrução consulta o banco e uma thread
+ * virtual bloqueada dentro de um monitor prende a thread da plataforma.
+ */
+@Component
+public class CatalogoDeSalas {
+    private final SalasRepository salasRepository;
+    private final VersaoDasSalas versaoDasSalas;
+    private final ReentrantLock trava = new ReentrantLock();
+    private Indice indice;
+    private VersaoDasSalas.Versao versaoDoIndice;
+
+    public CatalogoDeSalas(SalasRepository salasRepository, VersaoDasSalas versaoDasSalas) {
+        this.salasRepository = salasRepository;
+        this.versaoDasSalas = versaoDasSalas;
+    }
+
+
+    public Indice indice() {
+        VersaoDasSalas.Versao versao = versaoDasSalas.atual();
+        trava.lock();
+        try {
+            if (indice == null || !versao.equals(versaoDoIndice)) {
+                indice = new Indice(salasRepository.findAll());
+                versaoDoIndice = versao;
+            }
+            return indice;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    public void invalidar() {
+        versaoDasSalas.invalidar();
+        trava.lock();
+        try {
+            indice = null;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    public static final class Indice {
+        private static final BitSet NENHUMA = new BitSet();
+
+        private final Sala[] salas;
+        private final long[] salaIds;
+        private final long[] capacidades;
+        private final Map<String, BitSet> porArea = new HashMap<>();
+        private final Map<String, BitSet> porLocalizacao = new HashMap<>();
+
+        private Indice(List<Sala> todas) {
+            this.salas = todas.stream()
+                    .sorted(Comparator.comparingLong(Indice::capacidade))
+                    .toArray(Sala[]::new);
+            this.salaIds = new long[salas.length];
+            this.capacidades = new long[salas.length];
+            for (int i = 0; i < salas.length; i++) {
+                salaIds[i] = salas[i].getId();
+                capacidades[i] = capacidade(salas[i]);
+                adicionar(porArea, salas[i].getArea(), i);
+                adicionar(porLocalizacao, salas[i].getLocalizacao(), i);
+            }
+        }
+
+
+        /**
+         * Posições das salas com pelo menos {@code capacidadeMinima} lugares e,
+         * quando informadas, da área e localização pedidas (sem diferenciar maiúsculas).
+         */
+        public BitSet filtrar(long capacidadeMinima, String area, String localizacao) {
+            BitSet resultado = new BitSet(salas.length);
+            resultado.set(primeiraComCapacidade(capacidadeMinima), salas.length);
+            if (area != null && !area.isBlank()) {
+                resultado.and(porArea.getOrDefault(chave(area), NENHUMA));
+            }
+            if (localizacao != null && !localizacao.isBlank()) {
+                resultado.and(porLocalizacao.getOrDefault(chave(localizacao), NENHUMA));
+            }
+            return resultado;
+        }
+
+
+        public Sala sala(int posicao) {
+            return salas[posicao];
+        }
+
+
+        /**
+         * Id da sala de cada posição. O array é do índice e não deve ser alterado.
+         */
+        public long[] salaIds() {
+            return salaIds;
+        }
+
+
+        private int primeiraComCapacidade(long capacidadeMinima) {
+            int de = 0;
+            int ate = capacidades.length;
+            while (de < ate) {
+                int meio = (de + ate) >>> 1;
+                if (capacidades[meio] < capacidadeMinima) {
+                    de = meio + 1;
+                } else {
+                    ate = meio;
+                }
+            }
+            return de;
+        }
+
+
+        private static void adicionar(Map<String, BitSet> indice, String valor, int posicao) {
+            if (valor != null) {
+                indice.computeIfAbsent(chave(valor), v -> new BitSet()).set(posicao);
+            }
+        }
+
+
+        private static String chave(String valor) {
+            return valor.trim().toLowerCase(Locale.ROOT);
+        }
+
+
+        private static long capacidade(Sala sala) {
+            return sala.getCapacidade() != null ? sala.getCapacidade() : 0;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A listagem sem filtros de {@code /sala/lista}, no tamanho de página padrão, já
+ * serializada em JSON. Cada página é guardada pelo cursor que a pede, com o ETag
+ * do seu conteúdo. O conjunto de páginas é imutável e é trocado por um novo, lido
+ * do banco com uma única consulta, na primeira leitura depois que uma sala é
+ * adicionada ou removida, nesta instância ou, pela {@link VersaoDasSalas}, em outra.
+ * A reconstrução fica sob um ReentrantLock, e não num
+ * monitor, para não prender a thread da plataforma quando roda numa thread virtual.
+ */
+@Component
+public class CatalogoSerializado {
+    private static final long PRIMEIRA_PAGINA = 0L;
+
+    private final SalasRepository salasRepository;
+    private final VersaoDasSalas versaoDasSalas;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock trava = new ReentrantLock();
+    private volatile Listagem listagem;
+
+    public CatalogoSerializado(SalasRepository salasRepository, VersaoDasSalas versaoDasSalas, ObjectMapper objectMapper) {
+        this.salasRepository = salasRepository;
+        this.versaoDasSalas = versaoDasSalas;
+        this.objectMapper = objectMapper;
+    }
+
+
+    /**
+     * A página que começa depois de {@code cursor}, ou {@code null} se o cursor não for
+     * o de uma página da listagem atual.
+     */
+    public PaginaPronta pagina(Long cursor) {
+        VersaoDasSalas.Versao versao = versaoDasSalas.atual();
+        Listagem atual = listagem;
+        if (atual == null || !atual.versao().equals(versao)) {
+            atual = renderizar(versao);
+        }
+        return atual.paginas().get(cursor != null ? cursor : PRIMEIRA_PAGINA);
+    }
+
+
+    /**
+     * Usa a mesma trava da renderização, para que uma listagem lida antes da alteração
+     * não fique guardada depois dela.
+     */
+    public void invalidar() {
+        versaoDasSalas.invalidar();
+        trava.lock();
+        try {
+            listagem = null;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    private Listagem renderizar(VersaoDasSalas.Versao versao) {
+        trava.lock();
+        try {
+            if (listagem == null || !listagem.versao().equals(versao)) {
+                listagem = new Listagem(versao, Map.copyOf(paginasDoBanco()));
+            }
+            return listagem;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    private Map<Long, PaginaPronta> paginasDoBanco() {
+        List<Sala> salas = salasRepository.findAll(Sort.by("id"));
+        Map<Long, PaginaPronta> novas = new HashMap<>();
+        long cursor = PRIMEIRA_PAGINA;
+        int inicio = 0;
+        do {
+            List<Sala> itens = salas.subList(inicio, Math.min(salas.size(), inicio + Pagina.TAMANHO_PADRAO));
+            inicio += Pagina.TAMANHO_PADRAO;
+            String proximoCursor = inicio < salas.size() ? String.valueOf(itens.getLast().getId()) : null;
+            novas.put(cursor, serializar(new Pagina<>(itens, proximoCursor)));
+            if (proximoCursor != null) {
+                cursor = itens.getLast().getId();
+            }
+        } while (inicio < salas.size());
+        return novas;
+    }
+
+
+    private PaginaPronta serializar(Pagina<Sala> pagina) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(pagina);
+            return new PaginaPronta(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar a lista de salas", e);
+        }
+    }
+
+
+    private record Listagem(VersaoDasSalas.Versao versao, Map<Long, PaginaPronta> paginas) {
+    }
+
+
+    /**
+     * O JSON de uma página e o seu ETag forte, já entre aspas. O array é compartilhado
+     * entre as respostas e não deve ser alterado.
+     */
+    public record PaginaPronta(byte[] json, String etag) {
+    }
+}
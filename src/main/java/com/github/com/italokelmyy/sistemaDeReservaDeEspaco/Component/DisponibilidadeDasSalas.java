@@ -0,0 +1,260 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.IntervaloLivre;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Minutos ocupados de cada sala por dia, um bit por minuto (1440 bits em 23 longs).
+ * O dia é carregado das faixas de 15 minutos na primeira consulta e depois atualizado a cada
+ * reserva e cancelamento, depois do commit e ainda sob a trava da sala.
+ * Toda alteração troca o array do dia por uma cópia, então a leitura nunca
+ * enxerga um dia pela metade. Os arrays ficam agrupados por data, para que a
+ * busca em muitas salas faça só uma consulta de mapa por sala.
+ * <p>
+ * As consultas são públicas e aceitam qualquer data, então só as
+ * {@code reserva.disponibilidade.dias-em-memoria} datas mais usadas ficam em memória;
+ * uma data descartada volta a ser lida do banco na próxima consulta.
+ */
+@Component
+public class DisponibilidadeDasSalas {
+    public static final int MINUTOS_POR_DIA = 24 * 60;
+    private static final int PALAVRAS_POR_DIA = (MINUTOS_POR_DIA + 63) / 64;
+    private static final int SALAS_POR_CONSULTA = 1000;
+    private static final int TENTATIVAS_DE_CARGA = 3;
+
+    private final HorarioOcupadoRepository horarioOcupadoRepository;
+    private final Cache<LocalDate, ConcurrentHashMap<Long, long[]>> dias;
+    private final AtomicLong alteracoes = new AtomicLong();
+
+    public DisponibilidadeDasSalas(HorarioOcupadoRepository horarioOcupadoRepository,
+                                   @Value("${reserva.disponibilidade.dias-em-memoria:120}") long diasEmMemoria) {
+        this.horarioOcupadoRepository = horarioOcupadoRepository;
+        this.dias = Caffeine.newBuilder()
+                .maximumSize(diasEmMemoria)
+                .executor(Runnable::run)
+                .build();
+    }
+
+
+    public List<IntervaloLivre> intervalosLivres(Long salaId, LocalDate data) {
+        long[] ocupados = ocupados(doDia(data), salaId, data);
+
+        List<IntervaloLivre> livres = new ArrayList<>();
+        int inicio = proximo(ocupados, 0, false);
+        while (inicio < MINUTOS_POR_DIA) {
+            int fim = proximo(ocupados, inicio, true);
+            livres.add(IntervaloLivre.deMinutos(inicio, fim));
+            inicio = proximo(ocupados, fim, false);
+        }
+        return livres;
+    }
+
+
+    /**
+     * Das posições em {@code candidatas}, as das salas livres em todos os minutos de
+     * {@code de} (inclusive) até {@code ate} (exclusivo) do dia. {@code salaIds} traz o
+     * id da sala de cada posição. Os dias que ainda não estão em memória são
+     * carregados juntos, com uma consulta a cada mil salas.
+     */
+    public BitSet livres(BitSet candidatas, long[] salaIds, LocalDate data, int de, int ate) {
+        ConcurrentHashMap<Long, long[]> doDia = doDia(data);
+        BitSet livres = new BitSet(salaIds.length);
+        List<Integer> faltando = new ArrayList<>();
+        for (int posicao = candidatas.nextSetBit(0); posicao >= 0; posicao = candidatas.nextSetBit(posicao + 1)) {
+            long[] ocupados = doDia.get(salaIds[posicao]);
+            if (ocupados == null) {
+                faltando.add(posicao);
+            } else if (proximo(ocupados, de, true) >= ate) {
+                livres.set(posicao);
+            }
+        }
+
+        if (!faltando.isEmpty()) {
+            carregar(faltando.stream().map(posicao -> salaIds[posicao]).toList(), data, doDia);
+            for (int posicao : faltando) {
+                long salaId = salaIds[posicao];
+                long[] ocupados = ocupados(doDia, salaId, data);
+                if (proximo(ocupados, de, true) >= ate) {
+                    livres.set(posicao);
+                }
+            }
+        }
+        return livres;
+    }
+
+
+    public void ocupar(SalaResevada reserva) {
+        aposOCommit(() -> aplicar(reserva, true));
+    }
+
+
+    public void liberar(SalaResevada reserva) {
+        aposOCommit(() -> aplicar(reserva, false));
+    }
+
+
+    @Scheduled(cron = "${reserva.disponibilidade.limpeza-cron:0 0 3 * * *}")
+    public void descartarDiasPassados() {
+        LocalDate hoje = LocalDate.now();
+        dias.asMap().keySet().removeIf(data -> data.isBefore(hoje));
+    }
+
+
+    private ConcurrentHashMap<Long, long[]> doDia(LocalDate data) {
+        return dias.get(data, d -> new ConcurrentHashMap<>());
+    }
+
+
+    /**
+     * O dia da sala, carregado do banco se ainda não estiver em memória. A consulta roda
+     * fora do mapa: um {@code computeIfAbsent} seguraria a trava do bin, e com ela a
+     * thread carregadora da thread virtual, durante todo o JDBC. Se uma reserva ou
+     * cancelamento for aplicado durante a carga, o dia é lido de novo; depois de
+     * algumas tentativas, o que foi lido responde a consulta sem ficar em memória.
+     */
+    private long[] ocupados(ConcurrentHashMap<Long, long[]> doDia, Long salaId, LocalDate data) {
+        long[] ocupados = doDia.get(salaId);
+        for (int tentativa = 0; ocupados == null; tentativa++) {
+            long versao = alteracoes.get();
+            long[] carregado = carregar(salaId, data);
+            if (tentativa == TENTATIVAS_DE_CARGA) {
+                return carregado;
+            }
+            long[] atual = doDia.putIfAbsent(salaId, carregado);
+            if (atual != null) {
+                return atual;
+            }
+            if (alteracoes.get() == versao) {
+                return carregado;
+            }
+            doDia.remove(salaId, carregado);
+        }
+        return ocupados;
+    }
+
+
+    private long[] carregar(Long salaId, LocalDate data) {
+        long[] ocupados = new long[PALAVRAS_POR_DIA];
+        for (Integer slot : horarioOcupadoRepository.slotsDoDia(salaId, data)) {
+            marcarSlot(ocupados, slot, true);
+        }
+        return ocupados;
+    }
+
+
+    /**
+     * Se alguma reserva ou cancelamento for aplicado durante a carga, o que foi
+     * carregado é descartado e essas salas são lidas uma a uma.
+     */
+    private void carregar(List<Long> salaIds, LocalDate data, ConcurrentHashMap<Long, long[]> doDia) {
+        long versao = alteracoes.get();
+        Map<Long, long[]> carregados = new HashMap<>();
+        for (int i = 0; i < salaIds.size(); i += SALAS_POR_CONSULTA) {
+            List<Long> parte = salaIds.subList(i, Math.min(salaIds.size(), i + SALAS_POR_CONSULTA));
+            parte.forEach(id -> carregados.put(id, new long[PALAVRAS_POR_DIA]));
+            for (HorarioOcupado horario : horarioOcupadoRepository.findBySalaIdInAndDataBetween(parte, data, data)) {
+                marcarSlot(carregados.get(horario.getSalaId()), horario.getSlot(), true);
+            }
+        }
+
+        carregados.forEach(doDia::putIfAbsent);
+        if (alteracoes.get() != versao) {
+            carregados.forEach(doDia::remove);
+        }
+    }
+
+
+    /**
+     * Só altera dias que já estão em memória; os demais serão lidos do banco,
+     * já com a alteração, quando forem consultados. Marca as mesmas faixas que
+     * a reserva grava no banco.
+     */
+    private void aplicar(SalaResevada reserva, boolean ocupado) {
+        if (reserva.getInicio() == null || reserva.getFim() == null) {
+            return;
+        }
+        alteracoes.incrementAndGet();
+        Map<LocalDate, List<HorarioOcupado>> porDia = HorarioOcupado.daReserva(reserva).stream()
+                .collect(Collectors.groupingBy(HorarioOcupado::getData));
+        porDia.forEach((data, slots) -> {
+            ConcurrentHashMap<Long, long[]> doDia = dias.getIfPresent(data);
+            if (doDia != null) {
+                doDia.computeIfPresent(reserva.getSalaId(), (salaId, atual) -> {
+                    long[] novo = atual.clone();
+                    slots.forEach(horario -> marcarSlot(novo, horario.getSlot(), ocupado));
+                    return novo;
+                });
+            }
+        });
+    }
+
+
+    private static void aposOCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+
+    private static void marcarSlot(long[] palavras, int slot, boolean ocupado) {
+        int de = HorarioOcupado.primeiroMinuto(slot);
+        marcar(palavras, de, de + HorarioOcupado.MINUTOS_POR_SLOT, ocupado);
+    }
+
+
+    private static void marcar(long[] palavras, int de, int ate, boolean ocupado) {
+        for (int minuto = de; minuto < ate; minuto++) {
+            if (ocupado) {
+                palavras[minuto >>> 6] |= 1L << minuto;
+            } else {
+                palavras[minuto >>> 6] &= ~(1L << minuto);
+            }
+        }
+    }
+
+
+    /**
+     * Primeiro minuto a partir de {@code de} com o estado pedido, ou
+     * {@link #MINUTOS_POR_DIA} se não houver nenhum até o fim do dia.
+     */
+    private static int proximo(long[] palavras, int de, boolean ocupado) {
+        int indice = de >>> 6;
+        if (indice >= palavras.length) {
+            return MINUTOS_POR_DIA;
+        }
+        long palavra = (ocupado ? palavras[indice] : ~palavras[indice]) & (-1L << de);
+        while (palavra == 0) {
+            if (++indice == palavras.length) {
+                return MINUTOS_POR_DIA;
+            }
+            palavra = ocupado ? palavras[indice] : ~palavras[indice];
+        }
+        return Math.min(MINUTOS_POR_DIA, indice * 64 + Long.numberOfTrailingZeros(palavra));
+    }
+}
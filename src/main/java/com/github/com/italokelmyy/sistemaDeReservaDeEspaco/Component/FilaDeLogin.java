@@ -0,0 +1,60 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Threads só para os logins, que gastam CPU no BCrypt, para que um pico de logins não
+ * ocupe as threads do Tomcat. São tantas threads quanto núcleos, e a fila de espera é
+ * limitada: com ela cheia o login é recusado na hora, em vez de esperar sem prazo.
+ * O executor fica aqui dentro, e não como bean, para não substituir o executor padrão
+ * que o Spring Boot cria quando não há nenhum. Mesmo com threads virtuais ligadas
+ * estas continuam sendo de plataforma: o BCrypt é CPU pura e o limite de threads é o
+ * que segura a carga.
+ */
+@Component
+public class FilaDeLogin implements DisposableBean {
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSegundos;
+
+    public FilaDeLogin(@Value("${login.threads:0}") int threads,
+                       @Value("${login.fila:256}") int capacidadeDaFila,
+                       @Value("${login.retry-after-segundos:2}") int retryAfterSegundos) {
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeDaFila),
+                Thread.ofPlatform().name("login-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+
+    /**
+     * @throws RejectedExecutionException se a fila estiver cheia
+     */
+    public <T> CompletableFuture<T> submeter(Supplier<T> tarefa) {
+        return CompletableFuture.supplyAsync(tarefa, executor);
+    }
+
+
+    /**
+     * Quanto o cliente deve esperar antes de tentar de novo quando o login é recusado.
+     */
+    public int retryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
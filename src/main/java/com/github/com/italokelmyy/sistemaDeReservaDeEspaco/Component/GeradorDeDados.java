@@ -0,0 +1,550 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.CacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Popula o banco com salas, usuários e reservas sintéticos, em volume de produção, quando
+ * o perfil {@code gerador} está ativo. As salas e os usuários se dividem em quentes e
+ * frios: por padrão 10% das salas recebem 60% das reservas, e 10% dos usuários fazem 60%
+ * delas. As reservas ficam na grade de meia hora das 07:00 às 21:30, concentradas nos
+ * horários de pico e nos dias úteis, e nunca se sobrepõem na mesma sala, então os slots
+ * gravados batem com a chave única de {@code faixaocupada}.
+ * <p>
+ * Tudo é gravado com batches JDBC, um lote por transação, e as reservas são geradas em
+ * paralelo, um bloco de salas por tarefa. Cada sala tem o seu próprio gerador aleatório
+ * derivado da semente, então o resultado não depende do número de threads.
+ */
+@Component
+@Profile("gerador")
+public class GeradorDeDados implements ApplicationRunner {
+    private static final String INSERT_SALA = "insert into sala (id, area, codigo, capacidade, localizacao, status) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USUARIO = "insert into usuario (id, usuario, email, senha, versao) values (?, ?, ?, ?, 0)";
+    private static final String INSERT_RESERVA = """
+            insert into salareservada (id, sala_id, responsavel_pela_sala, codigo_da_sala, horario_agendado, data, inicio, fim, recorrencia_id, status)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_SLOT = "insert into faixaocupada (sala_id, data, slot, reserva_id) values (?, ?, ?, ?)";
+    private static final String SEQUENCIA_DAS_RESERVAS = "salareservada_seq";
+
+    private static final String[] AREAS = {"Tecnologia", "Reuniões", "Treinamento", "Auditório", "Laboratório", "Estudos"};
+    private static final long[] CAPACIDADES = {4, 6, 8, 10, 12, 16, 20, 30, 40, 60, 100, 200};
+    private static final int PRIMEIRO_HORARIO = 7 * 60;
+    private static final int HORARIOS_POR_DIA = 30;
+    /**
+     * Uma sala nunca passa de 24 das 30 meias horas do dia, e os dias são escolhidos para
+     * que a sala mais quente fique, em média, em três quartos disso nos dias úteis.
+     */
+    private static final int LIMITE_POR_DIA = 24;
+    private static final double OCUPACAO_MEDIA_MAXIMA = 0.75;
+    private static final int DIAS_MINIMOS = 30;
+    /**
+     * Peso de cada hora das 07h às 21h, com picos no meio da manhã e da tarde.
+     */
+    private static final int[] PESO_DA_HORA = {1, 3, 6, 8, 6, 2, 3, 7, 8, 6, 4, 2, 2, 1, 1};
+    private static final int PESO_DIA_UTIL = 10;
+    private static final int PESO_SABADO = 3;
+    private static final int PESO_DOMINGO = 1;
+    private static final int SALAS_POR_TAREFA = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CacheService cacheService;
+    private final CatalogoDeSalas catalogoDeSalas;
+    private final CatalogoSerializado catalogoSerializado;
+    private final SequenciasDeIds sequenciasDeIds;
+    private final ConfigurableApplicationContext contexto;
+    private final int salas;
+    private final int usuarios;
+    private final long reservas;
+    private final int dias;
+    private final int threads;
+    private final int tamanhoDoLote;
+    private final double fracaoQuente;
+    private final double pesoQuente;
+    private final String prefixo;
+    private final String senha;
+    private final long semente;
+    private final boolean comSlots;
+    private final boolean encerrar;
+
+    public GeradorDeDados(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, @Lazy PasswordEncoder passwordEncoder,
+                          CacheService cacheService, CatalogoDeSalas catalogoDeSalas, CatalogoSerializado catalogoSerializado,
+                          SequenciasDeIds sequenciasDeIds, ConfigurableApplicationContext contexto,
+                          @Value("${gerador.salas:1000}") int salas,
+                          @Value("${gerador.usuarios:10000}") int usuarios,
+                          @Value("${gerador.reservas:1000000}") long reservas,
+                          @Value("${gerador.dias:0}") int dias,
+                          @Value("${gerador.threads:0}") int threads,
+                          @Value("${gerador.lote:2000}") int tamanhoDoLote,
+                          @Value("${gerador.fracao-quente:0.1}") double fracaoQuente,
+                          @Value("${gerador.peso-quente:0.6}") double pesoQuente,
+                          @Value("${gerador.prefixo:gerado}") String prefixo,
+                          @Value("${gerador.senha:Senha@Gerada123}") String senha,
+                          @Value("${gerador.semente:42}") long semente,
+                          @Value("${gerador.slots:true}") boolean comSlots,
+                          @Value("${gerador.encerrar:true}") boolean encerrar) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.cacheService = cacheService;
+        this.catalogoDeSalas = catalogoDeSalas;
+        this.catalogoSerializado = catalogoSerializado;
+        this.sequenciasDeIds = sequenciasDeIds;
+        this.contexto = contexto;
+        this.salas = salas;
+        this.usuarios = usuarios;
+        this.reservas = reservas;
+        this.dias = dias;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.tamanhoDoLote = tamanhoDoLote;
+        this.fracaoQuente = fracaoQuente;
+        this.pesoQuente = pesoQuente;
+        this.prefixo = prefixo;
+        this.senha = senha;
+        this.semente = semente;
+        this.comSlots = comSlots;
+        this.encerrar = encerrar;
+    }
+
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (reservas > 0 && salas == 0) {
+            throw new IllegalArgumentException("gerador.reservas precisa de pelo menos uma sala");
+        }
+        Integer existentes = jdbcTemplate.queryForObject("select count(*) from usuario where usuario = ?", Integer.class, nomeDoUsuario(0));
+        if (existentes != null && existentes > 0) {
+            throw new IllegalStateException("Já existem dados gerados com o prefixo '" + prefixo + "'. Use outro gerador.prefixo.");
+        }
+
+        long comeco = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<SalaGerada> geradas = gerarSalas();
+            System.out.println("Gerador: " + geradas.size() + " salas em " + segundosDesde(comeco) + " s");
+
+            long usuariosComeco = System.nanoTime();
+            gerarUsuarios(executor);
+            System.out.println("Gerador: " + usuarios + " usuários em " + segundosDesde(usuariosComeco) + " s");
+
+            long reservasComeco = System.nanoTime();
+            gerarReservas(geradas, executor);
+            String taxa = String.format(Locale.ROOT, "%.0f", reservas / Math.max(segundosDesde(reservasComeco), 0.001));
+            System.out.println("Gerador: " + reservas + " reservas" + (comSlots ? " e os seus slots" : "") + " em "
+                    + segundosDesde(reservasComeco) + " s (" + taxa + " reservas/s)");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        catalogoDeSalas.invalidar();
+        catalogoSerializado.invalidar();
+        cacheService.descartarSala(null);
+        cacheService.descartarConsultasDeUsuario();
+        System.out.println("Gerador: concluído em " + segundosDesde(comeco) + " s");
+
+        if (encerrar) {
+            System.exit(SpringApplication.exit(contexto));
+        }
+    }
+
+
+    /**
+     * As salas são poucas e vão numa thread só. Os ids das salas e dos usuários saem das
+     * sequências do Hibernate, como os da aplicação.
+     */
+    private List<SalaGerada> gerarSalas() {
+        long[] ids = sequenciasDeIds.proximos(Sala.class, salas);
+        Random random = new Random(semente);
+        for (int de = 0; de < salas; de += tamanhoDoLote) {
+            List<Object[]> lote = new ArrayList<>(Math.min(tamanhoDoLote, salas - de));
+            for (int i = de; i < Math.min(de + tamanhoDoLote, salas); i++) {
+                lote.add(new Object[]{ids[i], AREAS[random.nextInt(AREAS.length)], codigoDaSala(i), CAPACIDADES[random.nextInt(CAPACIDADES.length)],
+                        "Bloco " + (char) ('A' + i % 6) + " - Andar " + (i / 6) % 10, StatusDaSala.Disponivel.name()});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SALA, lote));
+        }
+
+        List<Integer> indices = new ArrayList<>(salas);
+        for (int i = 0; i < salas; i++) {
+            indices.add(i);
+        }
+        Collections.shuffle(indices, random);
+        int quentes = quantasQuentes(salas);
+
+        long[] porSala = distribuir(salas, quentes);
+        List<SalaGerada> geradas = new ArrayList<>(salas);
+        for (int i = 0; i < salas; i++) {
+            geradas.add(new SalaGerada(ids[i], codigoDaSala(i), i, porSala[indices.get(i)]));
+        }
+        return geradas;
+    }
+
+
+    private void gerarUsuarios(ExecutorService executor) throws Exception {
+        String hash = passwordEncoder.encode(senha);
+        long[] ids = sequenciasDeIds.proximos(Usuario.class, usuarios);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int de = 0; de < usuarios; de += tamanhoDoLote) {
+            int inicio = de;
+            int fim = Math.min(de + tamanhoDoLote, usuarios);
+            tarefas.add(executor.submit(() -> {
+                List<Object[]> lote = new ArrayList<>(fim - inicio);
+                for (int i = inicio; i < fim; i++) {
+                    String nome = nomeDoUsuario(i);
+                    lote.add(new Object[]{ids[i], nome, nome + "@gerador.com", hash});
+                }
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USUARIO, lote));
+            }));
+        }
+        aguardar(tarefas);
+    }
+
+
+    private void gerarReservas(List<SalaGerada> geradas, ExecutorService executor) throws Exception {
+        if (reservas == 0) {
+            return;
+        }
+
+        long maisReservas = geradas.stream().mapToLong(SalaGerada::reservas).max().orElse(0);
+        int[] pesoDoDia = pesosDosDias(dias > 0 ? dias : diasNecessarios(maisReservas));
+        long somaDosPesos = Arrays.stream(pesoDoDia).asLongStream().sum();
+        if (maisReservas * PESO_DIA_UTIL > OCUPACAO_MEDIA_MAXIMA * LIMITE_POR_DIA * somaDosPesos) {
+            throw new IllegalArgumentException("gerador.dias=" + dias + " não comporta " + maisReservas
+                    + " reservas na sala mais usada; aumente gerador.dias ou use 0 para calcular");
+        }
+        LocalDate primeiroDia = LocalDate.now().minusDays(pesoDoDia.length * 3L / 4);
+        System.out.println("Gerador: reservas de " + primeiroDia + " a " + primeiroDia.plusDays(pesoDoDia.length - 1));
+
+        // São milhões de reservas: em vez de tirar cada id da sequência, cada sala recebe uma
+        // faixa depois do maior id e a sequência é levada para depois da última no final.
+        Long maiorId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from salareservada", Long.class);
+        long proximoId = maiorId + 1;
+        for (SalaGerada sala : geradas) {
+            sala.primeiroId = proximoId;
+            proximoId += sala.reservas;
+        }
+
+        AtomicLong gravadas = new AtomicLong();
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int de = 0; de < geradas.size(); de += SALAS_POR_TAREFA) {
+            List<SalaGerada> bloco = geradas.subList(de, Math.min(de + SALAS_POR_TAREFA, geradas.size()));
+            tarefas.add(executor.submit(() -> new Lote(gravadas).gerar(bloco, primeiroDia, pesoDoDia)));
+        }
+        aguardar(tarefas);
+        sequenciasDeIds.avancar(SEQUENCIA_DAS_RESERVAS, proximoId);
+    }
+
+
+    /**
+     * Os dias úteis pesam 10, o sábado 3 e o domingo 1. Com {@code gerador.dias=0}, a
+     * janela é a menor, de pelo menos 30 dias, em que a sala mais quente cabe.
+     */
+    private int diasNecessarios(long maisReservas) {
+        LocalDate primeiroDia = LocalDate.now();
+        long somaDosPesos = 0;
+        int necessarios = 0;
+        while (necessarios < DIAS_MINIMOS || maisReservas * PESO_DIA_UTIL > OCUPACAO_MEDIA_MAXIMA * LIMITE_POR_DIA * somaDosPesos) {
+            somaDosPesos += pesoDoDia(primeiroDia.plusDays(necessarios));
+            necessarios++;
+        }
+        return necessarios;
+    }
+
+
+    private int[] pesosDosDias(int quantidade) {
+        LocalDate primeiroDia = LocalDate.now().minusDays(quantidade * 3L / 4);
+        int[] pesos = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            pesos[i] = pesoDoDia(primeiroDia.plusDays(i));
+        }
+        return pesos;
+    }
+
+
+    private static int pesoDoDia(LocalDate dia) {
+        DayOfWeek diaDaSemana = dia.getDayOfWeek();
+        return diaDaSemana == DayOfWeek.SATURDAY ? PESO_SABADO : diaDaSemana == DayOfWeek.SUNDAY ? PESO_DOMINGO : PESO_DIA_UTIL;
+    }
+
+
+    private int quantasQuentes(int total) {
+        if (total < 2 || fracaoQuente <= 0 || fracaoQuente >= 1) {
+            return 0;
+        }
+        return (int) Math.max(1, Math.min(total - 1, Math.round(total * fracaoQuente)));
+    }
+
+
+    /**
+     * Reparte as reservas entre as salas: {@code peso-quente} delas vai para as primeiras
+     * {@code quentes} posições e o resto para as demais, em partes iguais dentro de cada grupo.
+     */
+    private long[] distribuir(int total, int quentes) {
+        long[] porPosicao = new long[total];
+        long paraAsQuentes = quentes == 0 ? 0 : Math.round(reservas * pesoQuente);
+        repartir(porPosicao, 0, quentes, paraAsQuentes);
+        repartir(porPosicao, quentes, total, reservas - paraAsQuentes);
+        return porPosicao;
+    }
+
+
+    private static void repartir(long[] porPosicao, int de, int ate, long quantidade) {
+        int posicoes = ate - de;
+        for (int i = 0; i < posicoes; i++) {
+            porPosicao[de + i] = quantidade / posicoes + (i < quantidade % posicoes ? 1 : 0);
+        }
+    }
+
+
+    private String codigoDaSala(int indice) {
+        return prefixo + "-sala-" + indice;
+    }
+
+
+    private String nomeDoUsuario(int indice) {
+        return prefixo + "_" + indice;
+    }
+
+
+    private static void aguardar(List<Future<?>> tarefas) throws Exception {
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+    }
+
+
+    private static double segundosDesde(long comeco) {
+        return Math.round((System.nanoTime() - comeco) / 1e7) / 100.0;
+    }
+
+
+    private static final class SalaGerada {
+        private final Long id;
+        private final String codigo;
+        private final int indice;
+        private final long reservas;
+        private long primeiroId;
+
+        private SalaGerada(Long id, String codigo, int indice, long reservas) {
+            this.id = id;
+            this.codigo = codigo;
+            this.indice = indice;
+            this.reservas = reservas;
+        }
+
+        private long reservas() {
+            return reservas;
+        }
+    }
+
+
+    private record Reserva(long id, SalaGerada sala, String responsavel, LocalDate data, int minuto) {
+    }
+
+
+    /**
+     * Gera as reservas de um bloco de salas e as grava em lotes de {@code gerador.lote}.
+     */
+    private final class Lote {
+        private final AtomicLong gravadas;
+        private final List<Reserva> pendentes = new ArrayList<>(tamanhoDoLote);
+        private final int quentes = quantasQuentes(usuarios);
+
+        private Lote(AtomicLong gravadas) {
+            this.gravadas = gravadas;
+        }
+
+
+        private void gerar(List<SalaGerada> bloco, LocalDate primeiroDia, int[] pesoDoDia) {
+            int[] acumulado = acumular(pesoDoDia);
+            int[] pesoDoHorario = new int[HORARIOS_POR_DIA];
+            for (int horario = 0; horario < HORARIOS_POR_DIA; horario++) {
+                pesoDoHorario[horario] = PESO_DA_HORA[horario / 2];
+            }
+
+            for (SalaGerada sala : bloco) {
+                SplittableRandom random = new SplittableRandom(semente * 1_000_003L + sala.indice);
+                int[] porDia = new int[pesoDoDia.length];
+                for (long i = 0; i < sala.reservas; i++) {
+                    int dia;
+                    do {
+                        dia = sortear(acumulado, random);
+                    } while (porDia[dia] == LIMITE_POR_DIA);
+                    porDia[dia]++;
+                }
+
+                long id = sala.primeiroId;
+                for (int dia = 0; dia < porDia.length; dia++) {
+                    int ocupados = 0;
+                    for (int i = 0; i < porDia[dia]; i++) {
+                        int horario = sortearLivre(pesoDoHorario, ocupados, random);
+                        ocupados |= 1 << horario;
+                    }
+                    for (int horario = 0; horario < HORARIOS_POR_DIA; horario++) {
+                        if ((ocupados & 1 << horario) != 0) {
+                            adicionar(new Reserva(id++, sala, responsavel(random), primeiroDia.plusDays(dia),
+                                    PRIMEIRO_HORARIO + horario * SalaResevada.DURACAO_EM_MINUTOS));
+                        }
+                    }
+                }
+            }
+            gravar();
+        }
+
+
+        private String responsavel(SplittableRandom random) {
+            if (usuarios == 0) {
+                return prefixo;
+            }
+            if (quentes == 0) {
+                return nomeDoUsuario(random.nextInt(usuarios));
+            }
+            return nomeDoUsuario(random.nextDouble() < pesoQuente ? random.nextInt(quentes) : random.nextInt(quentes, usuarios));
+        }
+
+
+        private void adicionar(Reserva reserva) {
+            pendentes.add(reserva);
+            if (pendentes.size() == tamanhoDoLote) {
+                gravar();
+            }
+        }
+
+
+        private void gravar() {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_RESERVA, new Reservas(pendentes, LocalDate.now()));
+                if (comSlots) {
+                    jdbcTemplate.batchUpdate(INSERT_SLOT, new Slots(pendentes));
+                }
+            });
+
+            long antes = gravadas.getAndAdd(pendentes.size());
+            long passo = Math.max(reservas / 10, 1);
+            if ((antes + pendentes.size()) / passo > antes / passo) {
+                System.out.println("Gerador: " + (antes + pendentes.size()) + " de " + reservas + " reservas");
+            }
+            pendentes.clear();
+        }
+
+
+        private static int[] acumular(int[] pesos) {
+            int[] acumulado = new int[pesos.length];
+            int soma = 0;
+            for (int i = 0; i < pesos.length; i++) {
+                soma += pesos[i];
+                acumulado[i] = soma;
+            }
+            return acumulado;
+        }
+
+
+        private static int sortear(int[] acumulado, SplittableRandom random) {
+            int posicao = Arrays.binarySearch(acumulado, random.nextInt(acumulado[acumulado.length - 1]) + 1);
+            return posicao >= 0 ? posicao : -posicao - 1;
+        }
+
+
+        private static int sortearLivre(int[] pesos, int ocupados, SplittableRandom random) {
+            int livre = 0;
+            for (int i = 0; i < pesos.length; i++) {
+                if ((ocupados & 1 << i) == 0) {
+                    livre += pesos[i];
+                }
+            }
+            int sorteado = random.nextInt(livre);
+            for (int i = 0; i < pesos.length; i++) {
+                if ((ocupados & 1 << i) == 0 && (sorteado -= pesos[i]) < 0) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Nenhum horário livre");
+        }
+    }
+
+
+    private record Reservas(List<Reserva> reservas, LocalDate hoje) implements BatchPreparedStatementSetter {
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Reserva reserva = reservas.get(i);
+            LocalDateTime inicio = reserva.data().atStartOfDay().plusMinutes(reserva.minuto());
+            ps.setLong(1, reserva.id());
+            ps.setLong(2, reserva.sala().id);
+            ps.setString(3, reserva.responsavel());
+            ps.setString(4, reserva.sala().codigo);
+            ps.setString(5, inicio.toLocalTime().toString());
+            ps.setObject(6, reserva.data());
+            ps.setObject(7, inicio);
+            ps.setObject(8, inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+            ps.setNull(9, Types.BIGINT);
+            ps.setInt(10, (reserva.data().isBefore(hoje) ? StatusDaSala.Finalizado : StatusDaSala.Ocupada).ordinal());
+        }
+
+        @Override
+        public int getBatchSize() {
+            return reservas.size();
+        }
+    }
+
+
+    /**
+     * As faixas de 15 minutos de cada reserva, como em {@code HorarioOcupado.daReserva}.
+     */
+    private record Slots(List<Reserva> reservas) implements BatchPreparedStatementSetter {
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Reserva reserva = reservas.get(i / HorarioOcupado.SLOTS_POR_RESERVA);
+            ps.setLong(1, reserva.sala().id);
+            ps.setObject(2, reserva.data());
+            ps.setInt(3, reserva.minuto() / HorarioOcupado.MINUTOS_POR_SLOT + i % HorarioOcupado.SLOTS_POR_RESERVA);
+            ps.setLong(4, reserva.id());
+        }
+
+        @Override
+        public int getBatchSize() {
+            return reservas.size() * HorarioOcupado.SLOTS_POR_RESERVA;
+        }
+    }
+}
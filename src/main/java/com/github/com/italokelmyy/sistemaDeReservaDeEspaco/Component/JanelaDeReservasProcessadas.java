@@ -0,0 +1,65 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids das últimas reservas processadas pelo listener, para descartar eventos repetidos.
+ * A janela guarda no máximo {@code capacidade} ids e esquece os mais antigos primeiro:
+ * o relay reenvia um evento logo depois da falha, então uma repetição chega bem antes
+ * de o id sair da janela.
+ */
+@Component
+public class JanelaDeReservasProcessadas {
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Map<Long, Boolean> ids;
+
+    public JanelaDeReservasProcessadas(@Value("${eventos.reserva.consumo.janela:100000}") int capacidade) {
+        this.ids = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> maisAntigo) {
+                return size() > capacidade;
+            }
+        };
+    }
+
+
+    /**
+     * @return true se o id ainda não estava na janela
+     */
+    public boolean registrar(Long reservaId) {
+        trava.lock();
+        try {
+            return ids.putIfAbsent(reservaId, Boolean.TRUE) == null;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    /**
+     * Tira o id da janela, para que o evento seja processado de novo quando voltar.
+     */
+    public void esquecer(Long reservaId) {
+        trava.lock();
+        try {
+            ids.remove(reservaId);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    public int tamanho() {
+        trava.lock();
+        try {
+            return ids.size();
+        } finally {
+            trava.unlock();
+        }
+    }
+}
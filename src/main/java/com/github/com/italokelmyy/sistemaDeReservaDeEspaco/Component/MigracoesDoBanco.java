@@ -0,0 +1,143 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ajustes de dados de bancos antigos. Rodam como observador da SessionFactory, logo
+ * depois de o Hibernate criar ou atualizar o esquema e antes de o EntityManagerFactory
+ * chegar ao resto da aplicação: nenhum id saiu de uma sequência, o Tomcat ainda não
+ * aceita pedidos e os jobs agendados ainda não começaram.
+ * <p>
+ * {@code sala}, {@code usuario} e {@code salareservada} usavam {@code IDENTITY}: as
+ * suas sequências são levadas para depois do maior id já gravado, para que um banco
+ * antigo continue funcionando sem passo manual.
+ * <p>
+ * As faixas ocupadas ficam em {@code faixaocupada}, de 15 em 15 minutos; a tabela
+ * antiga, {@code horarioocupado}, tinha uma linha por minuto. Quando
+ * {@code faixaocupada} está vazia, as faixas são geradas a partir das reservas e a
+ * tabela antiga é descartada.
+ * <p>
+ * Reservas de antes de {@code data}, {@code inicio} e {@code fim} só tinham o horário,
+ * sem dia, e bloqueavam aquele horário da sala em qualquer dia. Elas passam a valer
+ * para o dia da migração, que é o dia que uma reserva sem data recebe hoje, e ganham
+ * as suas faixas. Uma reserva cujo horário não pode ser lido fica como está e é listada
+ * no log.
+ */
+@Component
+public class MigracoesDoBanco implements HibernatePropertiesCustomizer, SessionFactoryObserver {
+    private static final Map<String, String> VINDAS_DE_IDENTITY = Map.of(
+            "sala_seq", "sala", "usuario_seq", "usuario", "salareservada_seq", "salareservada");
+    private static final String INSERT_FAIXA = "insert into faixaocupada (sala_id, data, slot, reserva_id) values (?, ?, ?, ?)";
+    private static final int FAIXAS_POR_LOTE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MigracoesDoBanco(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.SESSION_FACTORY_OBSERVER, this);
+    }
+
+
+    @Override
+    public void sessionFactoryCreated(SessionFactory factory) {
+        migrar();
+    }
+
+
+    public void migrar() {
+        VINDAS_DE_IDENTITY.forEach((sequencia, tabela) -> {
+            Long maiorId = jdbcTemplate.queryForObject("select max(id) from " + tabela, Long.class);
+            if (maiorId != null) {
+                SequenciasDeIds.avancar(jdbcTemplate, sequencia, maiorId + 1);
+            }
+        });
+
+        if (jdbcTemplate.queryForList("select reserva_id from faixaocupada limit 1").isEmpty()) {
+            jdbcTemplate.queryForList("select distinct sala_id from salareservada where inicio is not null", Long.class)
+                    .forEach(this::preencherFaixas);
+        }
+        jdbcTemplate.execute("drop table if exists horarioocupado");
+
+        datarReservasAntigas(LocalDate.now());
+    }
+
+
+    /**
+     * Uma faixa já ocupada por outra reserva do dia fica com ela; como antes, a
+     * reserva antiga continua gravada.
+     */
+    private void datarReservasAntigas(LocalDate dia) {
+        for (Map<String, Object> antiga : jdbcTemplate.queryForList(
+                "select id, sala_id, horario_agendado from salareservada where inicio is null")) {
+            long id = ((Number) antiga.get("id")).longValue();
+            LocalTime horario;
+            try {
+                horario = LocalTime.parse((String) antiga.get("horario_agendado"));
+            } catch (DateTimeParseException | NullPointerException e) {
+                System.out.println("Reserva " + id + " sem horário válido (" + antiga.get("horario_agendado") + "), mantida sem início");
+                continue;
+            }
+
+            LocalDateTime inicio = LocalDateTime.of(dia, horario);
+            LocalDateTime fim = inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS);
+            jdbcTemplate.update("update salareservada set data = ?, inicio = ?, fim = ? where id = ?", dia, inicio, fim, id);
+            for (HorarioOcupado faixa : HorarioOcupado.doIntervalo(((Number) antiga.get("sala_id")).longValue(), inicio, fim, id)) {
+                try {
+                    jdbcTemplate.update(INSERT_FAIXA, faixa.getSalaId(), faixa.getData(), faixa.getSlot(), faixa.getReservaId());
+                } catch (DuplicateKeyException e) {
+                    // a faixa já é de outra reserva
+                }
+            }
+        }
+    }
+
+
+    /**
+     * As faixas das reservas de uma sala, em ordem de início. Reservas antigas fora da
+     * grade podem tocar a mesma faixa; ela fica com a primeira.
+     */
+    private void preencherFaixas(Long salaId) {
+        List<HorarioOcupado> faixas = new ArrayList<>();
+        Set<HorarioOcupado.Chave> ocupadas = new HashSet<>();
+        jdbcTemplate.query("select id, inicio, fim from salareservada where sala_id = ? and inicio is not null order by inicio", rs -> {
+            LocalDateTime inicio = rs.getObject("inicio", LocalDateTime.class);
+            LocalDateTime fim = rs.getObject("fim", LocalDateTime.class);
+            for (HorarioOcupado faixa : HorarioOcupado.doIntervalo(salaId, inicio,
+                    fim != null ? fim : inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS), rs.getLong("id"))) {
+                if (ocupadas.add(faixa.getId())) {
+                    faixas.add(faixa);
+                }
+            }
+        }, salaId);
+
+        jdbcTemplate.batchUpdate(INSERT_FAIXA, faixas, FAIXAS_POR_LOTE, (ps, faixa) -> {
+            ps.setLong(1, faixa.getSalaId());
+            ps.setObject(2, faixa.getData());
+            ps.setInt(3, faixa.getSlot());
+            ps.setLong(4, faixa.getReservaId());
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.EventoDeReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.EventoDeReservaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava os eventos de reserva no outbox, na transação de quem gravou as reservas: o
+ * evento existe se e somente se a reserva foi confirmada no banco. O envio ao RabbitMQ
+ * fica com o {@link RelayDeEventos}, então a reserva não espera pelo broker.
+ */
+@Component
+public class PublicadorDeReservas {
+    private final EventoDeReservaRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public PublicadorDeReservas(EventoDeReservaRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicar(List<SalaResevada> reservas) {
+        if (reservas.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoDeReserva> eventos = new ArrayList<>(reservas.size());
+        for (SalaResevada reserva : reservas) {
+            eventos.add(new EventoDeReserva(reserva.getId(), json(reserva), agora));
+        }
+        repository.saveAll(eventos);
+    }
+
+
+    private String json(SalaResevada reserva) {
+        try {
+            return objectMapper.writeValueAsString(reserva);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar a reserva " + reserva.getId(), e);
+        }
+    }
+}
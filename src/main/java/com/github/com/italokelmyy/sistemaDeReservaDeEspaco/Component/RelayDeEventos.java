@@ -0,0 +1,161 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.EventoDeReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.EventoDeReservaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Envia ao RabbitMQ os eventos pendentes do outbox. Cada lote é pego numa transação curta
+ * com {@code SKIP LOCKED}, que grava em {@code travadoAte} até quando ele é deste relay;
+ * a publicação num único canal e a espera pela confirmação do broker acontecem fora de
+ * transação, sem segurar travas nem conexão do pool, e uma segunda transação curta marca
+ * o lote como enviado. Se o broker não confirmar, o lote é liberado na hora; se o relay
+ * cair no meio, ele volta a ficar pendente quando o prazo vence. Um evento pode então
+ * chegar mais de uma vez, com o mesmo messageId (o id da reserva), mas nunca se perde.
+ * Depois de uma falha o relay espera um tempo crescente antes de tentar de novo.
+ */
+@Component
+public class RelayDeEventos {
+    private static final long ESPERA_MAXIMA_MS = 30_000;
+    private static final int PRAZO_EM_CONFIRMACOES = 3;
+
+    private final EventoDeReservaRepository repository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoDoLote;
+    private final long confirmacaoMs;
+    private final Duration prazo;
+    private final long intervaloMs;
+    private final Duration retencao;
+    private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Timer> tempoDePublicacao;
+    private final Counter publicados;
+    private long esperaMs;
+    private long proximaTentativa;
+
+    public RelayDeEventos(EventoDeReservaRepository repository, RabbitTemplate rabbitTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                          @Value("${eventos.reserva.lote:100}") int tamanhoDoLote,
+                          @Value("${eventos.reserva.confirmacao-ms:5000}") long confirmacaoMs,
+                          @Value("${eventos.reserva.relay-ms:200}") long intervaloMs,
+                          @Value("${eventos.reserva.retencao-horas:24}") long retencaoHoras) {
+        this.repository = repository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoDoLote = tamanhoDoLote;
+        this.confirmacaoMs = confirmacaoMs;
+        this.prazo = Duration.ofMillis(confirmacaoMs * PRAZO_EM_CONFIRMACOES);
+        this.intervaloMs = intervaloMs;
+        this.retencao = Duration.ofHours(retencaoHoras);
+        this.meterRegistry = meterRegistry;
+        this.tempoDePublicacao = Timer.builder("reservas.eventos.publicacao")
+                .description("Tempo para publicar um lote e receber a confirmação do broker")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.publicados = Counter.builder("reservas.eventos.publicados")
+                .description("Eventos de reserva confirmados pelo broker")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Envia lotes até o outbox esvaziar ou o broker falhar.
+     *
+     * @return quantos eventos foram enviados
+     */
+    @Scheduled(fixedDelayString = "${eventos.reserva.relay-ms:200}")
+    public int enviarPendentes() {
+        if (System.currentTimeMillis() < proximaTentativa) {
+            return 0;
+        }
+
+        int enviados = 0;
+        try {
+            int lote;
+            do {
+                lote = enviarLote();
+                enviados += lote;
+            } while (lote == tamanhoDoLote);
+            esperaMs = 0;
+        } catch (RuntimeException e) {
+            esperaMs = esperaMs == 0 ? intervaloMs : Math.min(esperaMs * 2, ESPERA_MAXIMA_MS);
+            proximaTentativa = System.currentTimeMillis() + esperaMs;
+            System.out.println("Eventos de reserva não confirmados pelo broker, nova tentativa em " + esperaMs + " ms: " + e.getMessage());
+        }
+        return enviados;
+    }
+
+
+    @Scheduled(fixedDelayString = "${eventos.reserva.limpeza-ms:3600000}")
+    public void apagarEnviados() {
+        transactionTemplate.executeWithoutResult(status -> repository.apagarEnviadosAntesDe(LocalDateTime.now().minus(retencao)));
+    }
+
+
+    private int enviarLote() {
+        List<EventoDeReserva> eventos = transactionTemplate.execute(status -> pegarLote());
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            rabbitTemplate.invoke(operacoes -> {
+                for (EventoDeReserva evento : eventos) {
+                    operacoes.send(RabbitMqConfig.SALARESERVADA, mensagem(evento));
+                }
+                operacoes.waitForConfirmsOrDie(confirmacaoMs);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            amostra.stop(tempoDePublicacao.withTag("resultado", "falha"));
+            transactionTemplate.executeWithoutResult(status -> repository.liberar(eventos));
+            throw e;
+        }
+        amostra.stop(tempoDePublicacao.withTag("resultado", "confirmado"));
+        publicados.increment(eventos.size());
+
+        LocalDateTime agora = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> repository.marcarEnviados(eventos, agora));
+        return eventos.size();
+    }
+
+
+    private List<EventoDeReserva> pegarLote() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoDeReserva> eventos = repository.travarPendentes(agora, Limit.of(tamanhoDoLote));
+        eventos.forEach(evento -> evento.setTravadoAte(agora.plus(prazo)));
+        return eventos;
+    }
+
+
+    private static Message mensagem(EventoDeReserva evento) {
+        return MessageBuilder.withBody(evento.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(String.valueOf(evento.getReservaId()))
+                .setHeader("__TypeId__", SalaResevada.class.getName())
+                .build();
+    }
+}
@@ -2,19 +2,93 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
 
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
-import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consome os eventos de reserva em lotes. O container junta até
+ * {@code spring.rabbitmq.listener.simple.batch-size} mensagens e confirma o lote inteiro
+ * com um único ack quando este método retorna; se ele lançar exceção, o lote volta
+ * para a fila. Como o relay entrega cada evento pelo menos uma vez, as reservas já
+ * processadas são descartadas pelo id com a {@link JanelaDeReservasProcessadas}.
+ */
 @Component
 public class SalaReservadaListener {
+    private final JanelaDeReservasProcessadas processadas;
+    private final Counter consumidos;
+    private final Counter duplicados;
+    private final DistributionSummary lotes;
+    private final Timer processamento;
+
+    public SalaReservadaListener(JanelaDeReservasProcessadas processadas, MeterRegistry meterRegistry) {
+        this.processadas = processadas;
+        this.consumidos = Counter.builder("reservas.eventos.consumidos")
+                .description("Eventos de reserva processados")
+                .register(meterRegistry);
+        this.duplicados = Counter.builder("reservas.eventos.duplicados")
+                .description("Eventos de reserva descartados por já terem sido processados")
+                .register(meterRegistry);
+        this.lotes = DistributionSummary.builder("reservas.eventos.lote")
+                .description("Mensagens por lote recebido")
+                .register(meterRegistry);
+        this.processamento = Timer.builder("reservas.eventos.processamento")
+                .description("Tempo para processar um lote")
+                .register(meterRegistry);
+        Gauge.builder("reservas.eventos.janela", processadas, JanelaDeReservasProcessadas::tamanho)
+                .description("Ids de reserva guardados para descartar repetições")
+                .register(meterRegistry);
+    }
+
+
+    @RabbitListener(queues = RabbitMqConfig.SALARESERVADA, batch = "true")
+    public void receberSalasReservadas(List<SalaResevada> reservas) {
+        lotes.record(reservas.size());
+        processamento.record(() -> processar(reservas));
+    }
 
 
+    /**
+     * Registra os ids do lote na janela antes de tratar as reservas novas. Se uma delas
+     * falhar, ela e as que ainda não foram tratadas saem da janela antes de o lote voltar
+     * para a fila, para que a reentrega não as descarte como repetidas.
+     */
+    private void processar(List<SalaResevada> reservas) {
+        List<SalaResevada> novas = new ArrayList<>(reservas.size());
+        for (SalaResevada reserva : reservas) {
+            if (reserva.getId() != null && !processadas.registrar(reserva.getId())) {
+                duplicados.increment();
+            } else {
+                novas.add(reserva);
+            }
+        }
 
-    @RabbitListener(queues = RabbitMqConfig.SALARESERVADA)
-    public void receberSalaReservada(SalaResevada reservadaDTO) {
-        System.out.println("Mensagem recebida para a reserva da sala: " + reservadaDTO.getCodigo_da_sala());
+        int tratadas = 0;
+        try {
+            for (SalaResevada reserva : novas) {
+                tratar(reserva);
+                tratadas++;
+                consumidos.increment();
+            }
+        } catch (RuntimeException e) {
+            for (SalaResevada reserva : novas.subList(tratadas, novas.size())) {
+                if (reserva.getId() != null) {
+                    processadas.esquecer(reserva.getId());
+                }
+            }
+            throw e;
+        }
     }
 
+
+    protected void tratar(SalaResevada reserva) {
+        System.out.println("Mensagem recebida para a reserva da sala: " + reserva.getCodigo_da_sala());
+    }
 }
@@ -0,0 +1,74 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ids das sequências do Hibernate para quem grava com JDBC puro. Todas as entidades usam
+ * sequências com o otimizador pooled (blocos de 50 ids por ida ao banco), o que deixa o
+ * Hibernate juntar os inserts em batches; no MySQL, que não tem sequências, o Hibernate
+ * usa uma tabela de uma linha no lugar. As sequências de tabelas que usavam
+ * {@code IDENTITY} são alinhadas na subida por {@link MigracoesDoBanco}.
+ */
+@Component
+public class SequenciasDeIds {
+    public static final int ALOCACAO = 50;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenciasDeIds(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    /**
+     * Os próximos {@code quantidade} ids da entidade, tirados do mesmo gerador que o
+     * Hibernate usa nos inserts dela, então não colidem com os da aplicação.
+     */
+    public long[] proximos(Class<?> entidade, int quantidade) {
+        SessionFactoryImplementor fabrica = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator gerador = (IdentifierGenerator) fabrica.getMappingMetamodel().getEntityDescriptor(entidade).getGenerator();
+        long[] ids = new long[quantidade];
+        try (StatelessSession sessao = fabrica.openStatelessSession()) {
+            for (int i = 0; i < quantidade; i++) {
+                ids[i] = ((Number) gerador.generate((SharedSessionContractImplementor) sessao, null)).longValue();
+            }
+        }
+        return ids;
+    }
+
+
+    /**
+     * Garante que o próximo bloco da sequência comece em {@code proximoId} ou depois. Com
+     * o otimizador pooled o valor lido da sequência é o topo do bloco, então ela vai para
+     * o topo do bloco que começa em {@code proximoId}. Uma sequência que já está à frente
+     * não volta.
+     */
+    public void avancar(String sequencia, long proximoId) {
+        avancar(jdbcTemplate, sequencia, proximoId);
+    }
+
+
+    static void avancar(JdbcTemplate jdbcTemplate, String sequencia, long proximoId) {
+        long valor = proximoId + ALOCACAO - 1;
+        String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(banco)) {
+            jdbcTemplate.update("update " + sequencia + " set next_val = greatest(next_val, ?)", valor);
+            return;
+        }
+
+        Long atual = jdbcTemplate.queryForObject("select max(base_value) from information_schema.sequences where upper(sequence_name) = upper(?)",
+                Long.class, sequencia);
+        if (atual == null || atual < valor) {
+            jdbcTemplate.execute("alter sequence " + sequencia + " restart with " + valor);
+        }
+    }
+}
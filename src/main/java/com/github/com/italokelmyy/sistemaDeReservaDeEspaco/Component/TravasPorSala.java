@@ -0,0 +1,66 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa as reservas de uma mesma sala dentro da JVM.
+ * As salas são distribuídas num conjunto fixo de travas pelo id, então reservas
+ * de salas diferentes quase nunca disputam a mesma trava. Quando várias salas
+ * são travadas juntas, as travas são tomadas sempre na mesma ordem.
+ */
+@Component
+public class TravasPorSala {
+    private final ReentrantLock[] travas;
+    private final int mascara;
+
+    public TravasPorSala(@Value("${reserva.travas.quantidade:64}") int quantidade) {
+        int tamanho = Integer.highestOneBit(Math.max(1, quantidade - 1)) << 1;
+        this.travas = new ReentrantLock[tamanho];
+        this.mascara = tamanho - 1;
+        for (int i = 0; i < tamanho; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+
+    public <T> T executar(Long salaId, Supplier<T> acao) {
+        ReentrantLock trava = trava(salaId);
+        trava.lock();
+        try {
+            return acao.get();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    public <T> T executar(Collection<Long> salaIds, Supplier<T> acao) {
+        int[] indices = salaIds.stream().mapToInt(this::indice).distinct().sorted().toArray();
+        for (int indice : indices) {
+            travas[indice].lock();
+        }
+        try {
+            return acao.get();
+        } finally {
+            for (int i = indices.length - 1; i >= 0; i--) {
+                travas[indices[i]].unlock();
+            }
+        }
+    }
+
+
+    private ReentrantLock trava(Long salaId) {
+        return travas[indice(salaId)];
+    }
+
+
+    private int indice(Long salaId) {
+        int hash = Long.hashCode(salaId);
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+}
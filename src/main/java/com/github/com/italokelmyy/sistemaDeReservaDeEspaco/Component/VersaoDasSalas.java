@@ -0,0 +1,62 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Versão do conjunto de salas no banco, para que os catálogos em memória percebam
+ * salas adicionadas ou removidas por outras instâncias. Uma sala só é criada ou
+ * apagada, nunca alterada, e os ids vêm de uma sequência que não os reaproveita:
+ * qualquer mudança altera a quantidade ou o maior id. O banco é consultado no máximo
+ * uma vez a cada {@code reserva.catalogo.verificacao-ms}, então uma instância vê a
+ * mudança feita em outra em até esse intervalo; a própria instância a vê na hora,
+ * pelo {@link #invalidar()}.
+ */
+@Component
+public class VersaoDasSalas {
+    private final SalasRepository salasRepository;
+    private final long intervaloEmNanos;
+    private final ReentrantLock trava = new ReentrantLock();
+    private volatile Versao atual;
+    private volatile long lidaEm;
+
+    public VersaoDasSalas(SalasRepository salasRepository,
+                          @Value("${reserva.catalogo.verificacao-ms:5000}") long verificacaoMs) {
+        this.salasRepository = salasRepository;
+        this.intervaloEmNanos = TimeUnit.MILLISECONDS.toNanos(verificacaoMs);
+    }
+
+
+    public Versao atual() {
+        Versao versao = atual;
+        if (versao != null && System.nanoTime() - lidaEm < intervaloEmNanos) {
+            return versao;
+        }
+        trava.lock();
+        try {
+            if (atual == null || System.nanoTime() - lidaEm >= intervaloEmNanos) {
+                atual = new Versao(salasRepository.count(), salasRepository.maiorId());
+                lidaEm = System.nanoTime();
+            }
+            return atual;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+
+    /**
+     * Faz a próxima leitura ir ao banco; chamado depois de uma mudança feita por esta instância.
+     */
+    public void invalidar() {
+        atual = null;
+    }
+
+
+    public record Versao(long quantidade, Long maiorId) {
+    }
+}
@@ -2,9 +2,12 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration;
 
 
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,7 +17,7 @@ public class RabbitMqConfig {
 
     @Bean
     public Queue salaReservada() {
-        return new Queue(SALARESERVADA, false);
+        return new Queue(SALARESERVADA, true);
     }
 
     @Bean
@@ -29,4 +32,13 @@ public class RabbitMqConfig {
         return rabbitTemplate;
     }
 
+    /**
+     * Com lotes de consumo o container espera até este tempo por mais mensagens antes de
+     * entregar um lote incompleto; o padrão de 1 s atrasaria cada evento avulso.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> esperaDoLote(@Value("${eventos.reserva.consumo.espera-ms:100}") long esperaMs) {
+        return container -> container.setReceiveTimeout(esperaMs);
+    }
+
 }
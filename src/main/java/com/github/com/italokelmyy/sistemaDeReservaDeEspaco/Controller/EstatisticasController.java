@@ -0,0 +1,26 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Controller;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/estatisticas")
+public class EstatisticasController {
+
+    private final CacheService cacheService;
+
+
+    @Autowired
+    public EstatisticasController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<?> cache() {
+        return cacheService.estatisticas();
+    }
+}
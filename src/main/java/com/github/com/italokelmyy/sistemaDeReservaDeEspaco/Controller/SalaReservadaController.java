@@ -1,32 +1,72 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Controller;
 
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.ReservaRecorrente;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.ExportacaoDeReservasService;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.ReservaRecorrenteService;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/reserva")
 public class SalaReservadaController {
     private final SalaReservadaService service;
+    private final ReservaRecorrenteService recorrenteService;
+    private final ExportacaoDeReservasService exportacaoService;
 
     @Autowired
-    public SalaReservadaController(SalaReservadaService service) {
+    public SalaReservadaController(SalaReservadaService service, ReservaRecorrenteService recorrenteService, ExportacaoDeReservasService exportacaoService) {
         this.service = service;
+        this.recorrenteService = recorrenteService;
+        this.exportacaoService = exportacaoService;
     }
 
     @PostMapping("/adicionar")
     public ResponseEntity<?> adicionarSalaReservada(@RequestBody SalaResevada reservadaDTO) {
         String nome = reservadaDTO.getResponsavel_pela_sala();
         String horario = reservadaDTO.getHorarioAgendado();
-        return service.reservaSala(reservadaDTO.getId(), nome, horario);
+        return service.reservaSala(reservadaDTO.getId(), nome, reservadaDTO.getData(), horario);
+    }
+
+    @PostMapping("/lote")
+    public ResponseEntity<?> adicionarEmLote(@RequestBody List<SalaResevada> reservas) {
+        return service.reservarEmLote(reservas);
+    }
+
+    @PostMapping("/recorrente")
+    public ResponseEntity<?> adicionarRecorrente(@RequestBody ReservaRecorrente regra) {
+        return recorrenteService.criar(regra);
     }
 
     @GetMapping("/lista")
-    public ResponseEntity<?> mostrarSalas() {
-        return service.mostarSalasReservadas();
+    public ResponseEntity<?> mostrarSalas(@RequestParam(required = false) Long salaId,
+                                          @RequestParam(required = false) String responsavel,
+                                          @RequestParam(required = false) StatusDaSala status,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer tamanho) {
+        return service.mostarSalasReservadas(salaId, responsavel, status, de, ate, cursor, tamanho);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportacaoService.tempoMaximo().toMillis());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportacaoService.exportar());
     }
 
     @GetMapping("/deleteById/{id}")
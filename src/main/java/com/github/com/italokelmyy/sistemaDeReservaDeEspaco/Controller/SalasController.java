@@ -1,12 +1,14 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Controller;
 
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/sala")
@@ -21,8 +23,12 @@ public class SalasController {
     }
 
     @GetMapping("/lista")
-    public List<Sala> salaList() {
-        return salaService.salasDisponiveis();
+    public ResponseEntity<?> salaList(@RequestParam(required = false) StatusDaSala status,
+                                 @RequestParam(required = false) String area,
+                                 @RequestParam(required = false) String localizacao,
+                                 @RequestParam(required = false) Long cursor,
+                                 @RequestParam(required = false) Integer tamanho) {
+        return salaService.listaDeSalas(status, area, localizacao, cursor, tamanho);
     }
 
     @PostMapping("/adicionarSala")
@@ -40,5 +46,21 @@ public class SalasController {
         return salaService.pesquisarPeloIdDaSala(id);
     }
 
+    @GetMapping("/livres")
+    public ResponseEntity<?> buscarLivres(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+                                          @RequestParam String inicio,
+                                          @RequestParam(required = false) String fim,
+                                          @RequestParam(required = false) Long capacidade,
+                                          @RequestParam(required = false) String area,
+                                          @RequestParam(required = false) String localizacao) {
+        return salaService.buscarSalasLivres(data, inicio, fim, capacidade, area, localizacao);
+    }
+
+    @GetMapping("/{id}/disponibilidade")
+    public ResponseEntity<?> disponibilidade(@PathVariable Long id,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return salaService.disponibilidade(id, data);
+    }
+
 
 }
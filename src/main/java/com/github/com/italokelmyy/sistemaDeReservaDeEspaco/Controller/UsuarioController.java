@@ -1,22 +1,30 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Controller;
 
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.ImportacaoDeUsuariosService;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.UsuarioService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/usuario")
 public class UsuarioController {
 
     private final UsuarioService service;
+    private final ImportacaoDeUsuariosService importacaoDeUsuariosService;
 
-    public UsuarioController(UsuarioService service) {
+    public UsuarioController(UsuarioService service, ImportacaoDeUsuariosService importacaoDeUsuariosService) {
         this.service = service;
+        this.importacaoDeUsuariosService = importacaoDeUsuariosService;
     }
 
     @PostMapping("/cadastro")
@@ -26,8 +34,20 @@ public class UsuarioController {
 
 
     @PostMapping("/login")
-    public ResponseEntity<?> loginUsuario(@RequestBody Usuario usuario) {
+    public CompletableFuture<ResponseEntity<?>> loginUsuario(@RequestBody Usuario usuario) {
         return service.login(usuario);
     }
 
+
+    @PostMapping(value = "/importacao", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> importarUsuarios(InputStream csv) {
+        return importacaoDeUsuariosService.importar(csv);
+    }
+
+
+    @PostMapping("/revogarTokens")
+    public ResponseEntity<?> revogarTokens(Principal principal) {
+        return service.revogarTokens(principal.getName());
+    }
+
 }
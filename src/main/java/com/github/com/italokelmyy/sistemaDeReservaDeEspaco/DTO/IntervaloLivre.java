@@ -0,0 +1,16 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO;
+
+/**
+ * Intervalo livre de uma sala num dia, no formato HH:mm. O fim é exclusivo;
+ * um intervalo que vai até o fim do dia termina em "24:00".
+ */
+public record IntervaloLivre(String inicio, String fim) {
+
+    public static IntervaloLivre deMinutos(int inicio, int fim) {
+        return new IntervaloLivre(formatar(inicio), formatar(fim));
+    }
+
+    private static String formatar(int minutoDoDia) {
+        return String.format("%02d:%02d", minutoDoDia / 60, minutoDoDia % 60);
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Uma página de uma listagem paginada por chave. {@code proximoCursor} é nulo
+ * na última página; nas demais, é o valor a enviar em {@code cursor} para
+ * pedir a próxima.
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 200;
+
+
+    /**
+     * Tamanho de página a usar para o pedido: o padrão quando não informado e
+     * nunca mais que {@link #TAMANHO_MAXIMO}.
+     */
+    public static int tamanho(Integer pedido) {
+        if (pedido == null || pedido < 1) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(pedido, TAMANHO_MAXIMO);
+    }
+
+
+    /**
+     * Monta a página a partir de uma consulta que buscou um item a mais que o
+     * tamanho pedido, o que indica se há próxima página sem precisar de um count.
+     */
+    public static <T> Pagina<T> de(List<T> encontrados, int tamanho, Function<T, String> cursor) {
+        if (encontrados.size() <= tamanho) {
+            return new Pagina<>(encontrados, null);
+        }
+        List<T> itens = encontrados.subList(0, tamanho);
+        return new Pagina<>(itens, cursor.apply(itens.get(tamanho - 1)));
+    }
+}
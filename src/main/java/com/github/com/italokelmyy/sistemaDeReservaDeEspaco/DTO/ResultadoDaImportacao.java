@@ -0,0 +1,10 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO;
+
+import java.util.List;
+
+/**
+ * Quantas linhas do CSV viraram usuários e quantas foram recusadas. {@code erros}
+ * traz o motivo das primeiras recusas, com o número da linha.
+ */
+public record ResultadoDaImportacao(long importados, long recusados, List<String> erros) {
+}
@@ -0,0 +1,14 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO;
+
+import org.springframework.http.HttpStatus;
+
+public record ResultadoDaReserva(int indice, int status, String mensagem, Long reservaId) {
+
+    public static ResultadoDaReserva sucesso(int indice, Long reservaId) {
+        return new ResultadoDaReserva(indice, HttpStatus.OK.value(), "Sala adicionada com sucesso", reservaId);
+    }
+
+    public static ResultadoDaReserva erro(int indice, HttpStatus status, String mensagem) {
+        return new ResultadoDaReserva(indice, status.value(), mensagem, null);
+    }
+}
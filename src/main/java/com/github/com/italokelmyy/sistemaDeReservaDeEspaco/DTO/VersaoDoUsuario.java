@@ -0,0 +1,7 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO;
+
+/**
+ * Versão atual dos tokens de um usuário.
+ */
+public record VersaoDoUsuario(String usuario, Long versao) {
+}
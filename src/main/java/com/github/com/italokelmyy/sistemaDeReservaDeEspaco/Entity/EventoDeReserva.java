@@ -0,0 +1,71 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox dos eventos de reserva: cada linha é gravada na mesma transação da reserva,
+ * com a reserva já em JSON, e é enviada ao RabbitMQ depois pelo relay. Enquanto
+ * {@code enviadoEm} é nulo o evento está pendente; {@code travadoAte} marca o lote que
+ * um relay pegou para publicar, e as outras instâncias o pulam até esse prazo.
+ */
+@Entity
+@Table(name = "outbox_reserva", indexes = @Index(name = "idx_outbox_reserva_enviado", columnList = "enviadoEm, id"))
+public class EventoDeReserva {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_reserva_seq")
+    @SequenceGenerator(name = "outbox_reserva_seq", sequenceName = "outbox_reserva_seq", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private Long reservaId;
+    @Column(nullable = false, length = 4000)
+    private String payload;
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+    private LocalDateTime enviadoEm;
+    private LocalDateTime travadoAte;
+
+
+    public EventoDeReserva() {
+
+    }
+
+    public EventoDeReserva(Long reservaId, String payload, LocalDateTime criadoEm) {
+        this.reservaId = reservaId;
+        this.payload = payload;
+        this.criadoEm = criadoEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getReservaId() {
+        return reservaId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getEnviadoEm() {
+        return enviadoEm;
+    }
+
+    public void setEnviadoEm(LocalDateTime enviadoEm) {
+        this.enviadoEm = enviadoEm;
+    }
+
+    public LocalDateTime getTravadoAte() {
+        return travadoAte;
+    }
+
+    public void setTravadoAte(LocalDateTime travadoAte) {
+        this.travadoAte = travadoAte;
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity;
+
+public enum Frequencia {
+    DIARIA(1),
+    SEMANAL(7);
+
+    private final int diasPorPasso;
+
+    Frequencia(int diasPorPasso) {
+        this.diasPorPasso = diasPorPasso;
+    }
+
+    public int getDiasPorPasso() {
+        return diasPorPasso;
+    }
+}
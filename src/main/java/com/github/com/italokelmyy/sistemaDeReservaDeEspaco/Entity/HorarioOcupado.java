@@ -0,0 +1,165 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cada linha é uma faixa de 15 minutos do dia ocupada por uma reserva; {@code slot} é
+ * o número da faixa no dia (0 é 00:00, 95 é 23:45). A chave primária
+ * (salaId, data, slot) é a restrição única que impede duas reservas de ocuparem a
+ * mesma faixa da mesma sala. As reservas começam na grade de 15 minutos, então uma
+ * reserva de 30 minutos ocupa duas faixas vizinhas: a reserva das 14:00 fica com
+ * 14:00 e 14:15, e as das 13:45 e 14:15 esbarram numa delas, o que mantém o
+ * intervalo de 30 minutos entre reservas da mesma sala. Uma reserva antiga fora da
+ * grade ocupa todas as faixas que toca.
+ */
+@Entity
+@Table(name = "faixaocupada", indexes = @Index(name = "idx_faixaocupada_reserva", columnList = "reservaId"))
+@IdClass(HorarioOcupado.Chave.class)
+public class HorarioOcupado implements Persistable<HorarioOcupado.Chave> {
+    public static final int MINUTOS_POR_SLOT = 15;
+    public static final int SLOTS_POR_DIA = 24 * 60 / MINUTOS_POR_SLOT;
+    public static final int SLOTS_POR_RESERVA = SalaResevada.DURACAO_EM_MINUTOS / MINUTOS_POR_SLOT;
+
+    @Id
+    private Long salaId;
+    @Id
+    private LocalDate data;
+    @Id
+    private Integer slot;
+    private Long reservaId;
+    @Transient
+    private boolean novo = true;
+
+
+    public HorarioOcupado() {
+
+    }
+
+    public HorarioOcupado(Long salaId, LocalDate data, Integer slot, Long reservaId) {
+        this.salaId = salaId;
+        this.data = data;
+        this.slot = slot;
+        this.reservaId = reservaId;
+    }
+
+
+    public static List<HorarioOcupado> daReserva(SalaResevada reserva) {
+        return doIntervalo(reserva.getSalaId(), reserva.getInicio(), reserva.getFim(), reserva.getId());
+    }
+
+
+    /**
+     * As faixas que o intervalo de {@code inicio} (inclusive) até {@code fim} (exclusivo) toca.
+     */
+    public static List<HorarioOcupado> doIntervalo(Long salaId, LocalDateTime inicio, LocalDateTime fim, Long reservaId) {
+        List<HorarioOcupado> slots = new ArrayList<>(SLOTS_POR_RESERVA);
+        LocalDateTime faixa = inicio.toLocalDate().atStartOfDay().plusMinutes((long) slotDoHorario(inicio.toLocalTime()) * MINUTOS_POR_SLOT);
+        while (faixa.isBefore(fim)) {
+            slots.add(new HorarioOcupado(salaId, faixa.toLocalDate(), slotDoHorario(faixa.toLocalTime()), reservaId));
+            faixa = faixa.plusMinutes(MINUTOS_POR_SLOT);
+        }
+        return slots;
+    }
+
+
+    public static boolean naGrade(LocalTime horario) {
+        return horario.getMinute() % MINUTOS_POR_SLOT == 0 && horario.getSecond() == 0 && horario.getNano() == 0;
+    }
+
+
+    public static int slotDoHorario(LocalTime horario) {
+        return (horario.getHour() * 60 + horario.getMinute()) / MINUTOS_POR_SLOT;
+    }
+
+
+    public static int primeiroMinuto(int slot) {
+        return slot * MINUTOS_POR_SLOT;
+    }
+
+
+    @Override
+    public Chave getId() {
+        return new Chave(salaId, data, slot);
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarComoPersistido() {
+        this.novo = false;
+    }
+
+    public Long getSalaId() {
+        return salaId;
+    }
+
+    public void setSalaId(Long salaId) {
+        this.salaId = salaId;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    public Long getReservaId() {
+        return reservaId;
+    }
+
+    public void setReservaId(Long reservaId) {
+        this.reservaId = reservaId;
+    }
+
+
+    public static class Chave implements Serializable {
+        private Long salaId;
+        private LocalDate data;
+        private Integer slot;
+
+        public Chave() {
+
+        }
+
+        public Chave(Long salaId, LocalDate data, Integer slot) {
+            this.salaId = salaId;
+            this.data = data;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave chave)) return false;
+            return Objects.equals(salaId, chave.salaId) && Objects.equals(data, chave.data) && Objects.equals(slot, chave.slot);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salaId, data, slot);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Regra de uma reserva que se repete. As ocorrências só viram {@link SalaResevada}
+ * até {@code materializadaAte}; o restante da série é gerado conforme o horizonte avança.
+ */
+@Entity
+@Table(name = "reservarecorrente", indexes = @Index(name = "idx_reservarecorrente_materializada", columnList = "materializadaAte"))
+public class ReservaRecorrente {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservarecorrente_seq")
+    @SequenceGenerator(name = "reservarecorrente_seq", sequenceName = "reservarecorrente_seq", allocationSize = 50)
+    private Long id;
+    private Long salaId;
+    private String responsavel_pela_sala;
+    private String horarioAgendado;
+    @Enumerated(EnumType.STRING)
+    private Frequencia frequencia;
+    private Integer intervalo;
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private LocalDate materializadaAte;
+
+
+    public ReservaRecorrente() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSalaId() {
+        return salaId;
+    }
+
+    public void setSalaId(Long salaId) {
+        this.salaId = salaId;
+    }
+
+    public String getResponsavel_pela_sala() {
+        return responsavel_pela_sala;
+    }
+
+    public void setResponsavel_pela_sala(String responsavel_pela_sala) {
+        this.responsavel_pela_sala = responsavel_pela_sala;
+    }
+
+    public String getHorarioAgendado() {
+        return horarioAgendado;
+    }
+
+    public void setHorarioAgendado(String horarioAgendado) {
+        this.horarioAgendado = horarioAgendado;
+    }
+
+    public Frequencia getFrequencia() {
+        return frequencia;
+    }
+
+    public void setFrequencia(Frequencia frequencia) {
+        this.frequencia = frequencia;
+    }
+
+    public Integer getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Integer intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public void setDataInicial(LocalDate dataInicial) {
+        this.dataInicial = dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public void setDataFinal(LocalDate dataFinal) {
+        this.dataFinal = dataFinal;
+    }
+
+    public LocalDate getMaterializadaAte() {
+        return materializadaAte;
+    }
+
+    public void setMaterializadaAte(LocalDate materializadaAte) {
+        this.materializadaAte = materializadaAte;
+    }
+}
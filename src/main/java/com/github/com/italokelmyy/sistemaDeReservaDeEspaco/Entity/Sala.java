@@ -1,11 +1,19 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_sala_status", columnList = "status, id"),
+        @Index(name = "idx_sala_area", columnList = "area, id"),
+        @Index(name = "idx_sala_localizacao", columnList = "localizacao, id")})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sala")
 public class Sala {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sala_seq")
+    @SequenceGenerator(name = "sala_seq", sequenceName = "sala_seq", allocationSize = 50)
     private Long id;
     private String area;
     private String codigo;
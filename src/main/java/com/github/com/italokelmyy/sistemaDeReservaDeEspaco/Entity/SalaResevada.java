@@ -2,16 +2,30 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "salareservada")
+@Table(name = "salareservada", indexes = {
+        @Index(name = "idx_salareservada_sala_inicio", columnList = "salaId, inicio"),
+        @Index(name = "idx_salareservada_inicio", columnList = "inicio, id"),
+        @Index(name = "idx_salareservada_responsavel_inicio", columnList = "responsavel_pela_sala, inicio"),
+        @Index(name = "idx_salareservada_status_inicio", columnList = "status, inicio")})
 public class SalaResevada {
+    public static final int DURACAO_EM_MINUTOS = 30;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salareservada_seq")
+    @SequenceGenerator(name = "salareservada_seq", sequenceName = "salareservada_seq", allocationSize = 50)
     private Long id;
     private Long salaId;
     private String responsavel_pela_sala;
     private String codigo_da_sala;
     private String horarioAgendado;
+    private LocalDate data;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private Long recorrenciaId;
     private StatusDaSala status;
 
 
@@ -67,6 +81,38 @@ public class SalaResevada {
         this.horarioAgendado = horarioAgendado;
     }
 
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public Long getRecorrenciaId() {
+        return recorrenciaId;
+    }
+
+    public void setRecorrenciaId(Long recorrenciaId) {
+        this.recorrenciaId = recorrenciaId;
+    }
+
     public StatusDaSala getStatus() {
         return status;
     }
@@ -1,17 +1,33 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = Usuario.UNICO_USUARIO, columnNames = "usuario"),
+        @UniqueConstraint(name = Usuario.UNICO_EMAIL, columnNames = "email")})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
 public class Usuario {
+    public static final String UNICO_USUARIO = "uk_usuario_usuario";
+    public static final String UNICO_EMAIL = "uk_usuario_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", allocationSize = 50)
     private Long id;
     @NotNull(message = "Usuário é obrigatório")
     private String usuario;
@@ -21,6 +37,14 @@ public class Usuario {
     @NotNull
     @Pattern(regexp = "^[A-Za-z0-9_+-]+@[A-Za-z]{5,15}\\.[A-Za-z]{2,}$", message = "Formato Permitido: exemploemail@exemplo.com")
     private String email;
+    /**
+     * Sobe a cada revogação; tokens emitidos com uma versão menor deixam de valer. O
+     * default do banco preenche com 0 as linhas que já existiam quando a coluna foi criada.
+     */
+    @JsonIgnore
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long versao = 0L;
 
     public Usuario() {
 
@@ -65,6 +89,14 @@ public class Usuario {
         this.email = email;
     }
 
+    public long getVersao() {
+        return versao != null ? versao : 0L;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
 
 
 }
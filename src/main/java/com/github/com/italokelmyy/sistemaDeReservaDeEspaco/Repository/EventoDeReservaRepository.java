@@ -0,0 +1,48 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.EventoDeReserva;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventoDeReservaRepository extends JpaRepository<EventoDeReserva, Long> {
+
+    /**
+     * Os eventos pendentes mais antigos que nenhum relay pegou ou cujo prazo já passou,
+     * travados até o fim da transação. Linhas já travadas por outra instância são
+     * puladas ({@code SKIP LOCKED}), então cada relay pega um lote diferente sem esperar
+     * pelos outros. O timeout -2 é o {@code LockOptions.SKIP_LOCKED} do Hibernate.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoDeReserva e where e.enviadoEm is null and (e.travadoAte is null or e.travadoAte < :agora) order by e.id")
+    List<EventoDeReserva> travarPendentes(@Param("agora") LocalDateTime agora, Limit limite);
+
+    @Modifying
+    @Query("update EventoDeReserva e set e.enviadoEm = :enviadoEm where e in :eventos")
+    int marcarEnviados(@Param("eventos") Collection<EventoDeReserva> eventos, @Param("enviadoEm") LocalDateTime enviadoEm);
+
+    @Modifying
+    @Query("update EventoDeReserva e set e.travadoAte = null where e in :eventos and e.enviadoEm is null")
+    int liberar(@Param("eventos") Collection<EventoDeReserva> eventos);
+
+    @Query("select count(e) from EventoDeReserva e where e.enviadoEm is null")
+    long contarPendentes();
+
+    @Modifying
+    @Query("delete from EventoDeReserva e where e.enviadoEm < :antesDe")
+    int apagarEnviadosAntesDe(@Param("antesDe") LocalDateTime antesDe);
+
+}
@@ -0,0 +1,28 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HorarioOcupadoRepository extends JpaRepository<HorarioOcupado, HorarioOcupado.Chave> {
+
+    List<HorarioOcupado> findBySalaIdInAndDataBetween(Collection<Long> salaIds, LocalDate de, LocalDate ate);
+
+    List<HorarioOcupado> findBySalaIdInAndDataIn(Collection<Long> salaIds, Collection<LocalDate> datas);
+
+    @Query("select h.slot from HorarioOcupado h where h.salaId = :salaId and h.data = :data")
+    List<Integer> slotsDoDia(@Param("salaId") Long salaId, @Param("data") LocalDate data);
+
+    @Modifying
+    @Query("delete from HorarioOcupado h where h.reservaId = :reservaId")
+    int liberarDaReserva(@Param("reservaId") Long reservaId);
+
+}
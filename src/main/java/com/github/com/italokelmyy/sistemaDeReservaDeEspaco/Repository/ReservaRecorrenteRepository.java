@@ -0,0 +1,18 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.ReservaRecorrente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ReservaRecorrenteRepository extends JpaRepository<ReservaRecorrente, Long> {
+
+    @Query("select r from ReservaRecorrente r where r.materializadaAte < r.dataFinal and r.materializadaAte < :horizonte")
+    List<ReservaRecorrente> pendentesAte(@Param("horizonte") LocalDate horizonte);
+
+}
@@ -1,16 +1,54 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository;
 
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface SalaResevadaRepository extends JpaRepository<SalaResevada, Long> {
 
+    /**
+     * Reservas em ordem de início (e id, no empate) depois da chave
+     * ({@code aposInicio}, {@code aposId}); filtros nulos são ignorados. Reservas
+     * antigas, gravadas antes de {@code inicio} existir, vêm primeiro: o MySQL e o H2
+     * põem os nulos no começo da ordem crescente, o que mantém o índice
+     * {@code (inicio, id)} em uso. Um cursor só com {@code aposId} continua dentro delas.
+     */
+    @Query("""
+            select r from SalaResevada r
+            where (:salaId is null or r.salaId = :salaId)
+              and (:responsavel is null or r.responsavel_pela_sala = :responsavel)
+              and (:status is null or r.status = :status)
+              and (:de is null or r.inicio >= :de)
+              and (:ate is null or r.inicio < :ate)
+              and (:aposId is null
+                   or (:aposInicio is null and (r.inicio is not null or r.id > :aposId))
+                   or r.inicio > :aposInicio or (r.inicio = :aposInicio and r.id > :aposId))
+            order by r.inicio, r.id
+            """)
+    List<SalaResevada> listar(@Param("salaId") Long salaId, @Param("responsavel") String responsavel, @Param("status") StatusDaSala status,
+                              @Param("de") LocalDateTime de, @Param("ate") LocalDateTime ate,
+                              @Param("aposInicio") LocalDateTime aposInicio, @Param("aposId") Long aposId, Limit limite);
 
-
-    List<SalaResevada> findBySalaId(Long salaId);
+    /**
+     * Todas as reservas, lidas do cursor do banco em blocos de mil linhas.
+     * Precisa de uma transação aberta enquanto o Stream é consumido e deve ser fechado.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select r from SalaResevada r order by r.id")
+    Stream<SalaResevada> exportarTodas();
 }
\ No newline at end of file
@@ -2,14 +2,38 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository;
 
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface SalasRepository extends JpaRepository<Sala, Long> {
+    String REGIAO_POR_STATUS = "consultas-sala-por-status";
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_POR_STATUS)})
     List<Sala> findByStatus(StatusDaSala status);
 
+    @Query("select max(s.id) from Sala s")
+    Long maiorId();
+
+    @Query("""
+            select s from Sala s
+            where (:status is null or s.status = :status)
+              and (:area is null or s.area = :area)
+              and (:localizacao is null or s.localizacao = :localizacao)
+              and (:aposId is null or s.id > :aposId)
+            order by s.id
+            """)
+    List<Sala> listar(@Param("status") StatusDaSala status, @Param("area") String area, @Param("localizacao") String localizacao,
+                      @Param("aposId") Long aposId, Limit limite);
+
 }
@@ -1,14 +1,50 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository;
 
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.VersaoDoUsuario;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+    String REGIAO_POR_NOME = "consultas-usuario-por-nome";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_POR_NOME)})
     Optional<Usuario> findByUsuario(String usuario);
     Optional<Usuario> findByEmail(String email);
+
+    @Query("select u.usuario from Usuario u where u.usuario in :usuarios")
+    List<String> usuariosExistentes(@Param("usuarios") Collection<String> usuarios);
+
+    @Query("select u.email from Usuario u where u.email in :emails")
+    List<String> emailsExistentes(@Param("emails") Collection<String> emails);
+
+    /**
+     * Só os usuários que já tiveram tokens revogados; os demais estão na versão 0.
+     */
+    @Query("select new com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.VersaoDoUsuario(u.usuario, u.versao) from Usuario u where u.versao > 0")
+    List<VersaoDoUsuario> versoesRevogadas();
+
+    @Transactional
+    @Modifying
+    @Query("update Usuario u set u.senha = :senha where u.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
+
+    @Transactional
+    @Modifying
+    @Query("update Usuario u set u.versao = coalesce(u.versao, 0) + 1 where u.usuario = :usuario")
+    int revogarTokens(@Param("usuario") String usuario);
 }
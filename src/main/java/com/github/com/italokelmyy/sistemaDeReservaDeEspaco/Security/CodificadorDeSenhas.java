@@ -0,0 +1,31 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt com custo configurável. Um hash gerado com outro custo, maior ou menor, pede
+ * para ser refeito, o que acontece no próximo login do usuário.
+ */
+public class CodificadorDeSenhas extends BCryptPasswordEncoder {
+    private static final Pattern HASH_BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private final int custo;
+
+    public CodificadorDeSenhas(int custo) {
+        super(custo);
+        this.custo = custo;
+    }
+
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher hash = HASH_BCRYPT.matcher(encodedPassword);
+        return hash.matches() && Integer.parseInt(hash.group(1)) != custo;
+    }
+}
@@ -4,17 +4,25 @@ import org.apache.catalina.Context;
 import org.apache.catalina.connector.Connector;
 import org.apache.tomcat.util.descriptor.web.SecurityCollection;
 import org.apache.tomcat.util.descriptor.web.SecurityConstraint;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.servlet.server.ServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 
 import java.util.Collection;
 
 @Configuration
 public class HttpsConfig {
+    private final Environment environment;
+
+    public HttpsConfig(Environment environment) {
+        this.environment = environment;
+    }
 
     @Bean
     public ServletWebServerFactory factory() {
@@ -41,6 +49,10 @@ public class HttpsConfig {
         connector.setPort(8080);
         connector.setSecure(false);
         connector.setRedirectPort(8443);
+        // O Spring Boot só põe threads virtuais no conector principal; este é adicional.
+        if (Threading.VIRTUAL.isActive(environment)) {
+            connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("tomcat-http-"));
+        }
 
         return connector;
     }
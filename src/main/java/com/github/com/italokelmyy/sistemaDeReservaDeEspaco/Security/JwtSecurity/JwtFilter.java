@@ -2,13 +2,18 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity
 
 
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
-import io.jsonwebtoken.Claims;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.PapeisDosUsuarios;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,49 +22,83 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
     private final UsuarioRepository repository;
     private final JwtUtil jwtUtil;
+    private final VersoesDosUsuarios versoesDosUsuarios;
+    private final PapeisDosUsuarios papeisDosUsuarios;
+    private final boolean semConsulta;
+    private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Timer> tempoDoToken;
 
     @Autowired
-    public JwtFilter(UsuarioRepository repository, JwtUtil jwtUtil) {
+    public JwtFilter(UsuarioRepository repository, JwtUtil jwtUtil, VersoesDosUsuarios versoesDosUsuarios,
+                     PapeisDosUsuarios papeisDosUsuarios,
+                     @Value("${jwt.autenticacao.sem-consulta:true}") boolean semConsulta, MeterRegistry meterRegistry) {
         this.repository = repository;
         this.jwtUtil = jwtUtil;
+        this.versoesDosUsuarios = versoesDosUsuarios;
+        this.papeisDosUsuarios = papeisDosUsuarios;
+        this.semConsulta = semConsulta;
+        this.meterRegistry = meterRegistry;
+        this.tempoDoToken = Timer.builder("jwt.filtro")
+                .description("Tempo para verificar o token e montar a autenticação, sem o resto da requisição")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
     }
 
 
     @Override
     public void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        Optional.ofNullable(request.getHeader("Authorization"))
-                .filter(header -> header.startsWith("Bearer "))
-                .map(header -> header.substring(7))
-                .ifPresent(token -> {
-                    String usuario = jwtUtil.claims(token, Claims::getSubject);
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-                    if (usuario != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                        repository.findByUsuario(usuario).ifPresent(usuario1 -> {
-                            UserDetails user = User.builder()
-                                    .username(usuario1.getUsuario())
-                                    .password(usuario1.getSenha())
-                                    .roles("USER")
-                                    .build();
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Optional<UsernamePasswordAuthenticationToken> autenticacao = jwtUtil.verificar(header.substring(7))
+                .filter(token -> SecurityContextHolder.getContext().getAuthentication() == null)
+                .flatMap(this::autenticacao);
+        autenticacao.ifPresent(authenticationToken -> {
+            authenticationToken.setDetails(new WebAuthenticationDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        });
+        amostra.stop(tempoDoToken.withTag("resultado", autenticacao.isPresent() ? "autenticado" : "recusado"));
 
+        filterChain.doFilter(request, response);
+    }
 
-                            if (jwtUtil.verificarClaims(token, user)) {
-                                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(user.getUsername(), null, user.getAuthorities());
-                                authenticationToken.setDetails(new WebAuthenticationDetails(request));
-                                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-
-                            }
 
+    /**
+     * Com as claims de papéis e versão, a autenticação sai só do token, e a revogação
+     * é conferida na tabela de versões em memória. Tokens sem essas claims, ou com
+     * {@code jwt.autenticacao.sem-consulta=false}, continuam buscando o usuário no banco;
+     * um token sem a claim de versão vale como versão 0 e cai com a primeira revogação.
+     */
+    private Optional<UsernamePasswordAuthenticationToken> autenticacao(TokenVerificado token) {
+        if (semConsulta && token.temClaimsDeAutenticacao()) {
+            if (!versoesDosUsuarios.vigente(token.usuario(), token.versao())) {
+                return Optional.empty();
+            }
+            List<SimpleGrantedAuthority> papeis = token.papeis().stream().map(SimpleGrantedAuthority::new).toList();
+            return Optional.of(new UsernamePasswordAuthenticationToken(token.usuario(), null, papeis));
+        }
 
-                        });
-                    }
+        return repository.findByUsuario(token.usuario())
+                .filter(usuario -> versoesDosUsuarios.vigente(usuario.getUsuario(), token.versao() != null ? token.versao() : 0L))
+                .map(usuario1 -> {
+                    UserDetails user = User.builder()
+                            .username(usuario1.getUsuario())
+                            .password(usuario1.getSenha())
+                            .roles(papeisDosUsuarios.papeis(usuario1.getUsuario()))
+                            .build();
 
+                    return new UsernamePasswordAuthenticationToken(user.getUsername(), null, user.getAuthorities());
                 });
-        filterChain.doFilter(request, response);
     }
 }
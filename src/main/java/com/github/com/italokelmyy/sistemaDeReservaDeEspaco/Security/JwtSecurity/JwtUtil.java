@@ -2,39 +2,68 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity
 
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
+    public static final String CLAIM_PAPEIS = "papeis";
+    public static final String CLAIM_VERSAO = "versao";
+
     private final JwtConfig jwtConfig;
+    private final TokensVerificados tokensVerificados;
+    private final JwtParser parser;
 
     @Autowired
-    public JwtUtil(JwtConfig jwtConfig) {
+    public JwtUtil(JwtConfig jwtConfig, TokensVerificados tokensVerificados) {
         this.jwtConfig = jwtConfig;
+        this.tokensVerificados = tokensVerificados;
+        this.parser = Jwts.parser()
+                .verifyWith(jwtConfig.secretKey())
+                .build();
     }
 
     public String generadorDeKey(UserDetails userDetails) {
+        return generadorDeKey(userDetails, 0L);
+    }
+
+
+    /**
+     * Leva nas claims os papéis do usuário e a versão dos seus tokens, para que o
+     * filtro monte a autenticação sem consultar o usuário no banco.
+     */
+    public String generadorDeKey(UserDetails userDetails, long versao) {
+        List<String> papeis = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
         return Jwts.builder()
                 .signWith(jwtConfig.secretKey())
                 .subject(userDetails.getUsername())
+                .claim(CLAIM_PAPEIS, papeis)
+                .claim(CLAIM_VERSAO, versao)
                 .expiration(new Date(System.currentTimeMillis() + jwtConfig.getExpiration()))
                 .issuedAt(new Date())
                 .compact();
     }
 
 
+    /**
+     * Confere a assinatura e a validade do token. O parser lança exceção para token
+     * expirado, mal formado ou assinado com outra chave.
+     */
     public Claims claimsAll(String key) {
-        return Jwts.parser()
-                .verifyWith(jwtConfig.secretKey())
-                .build()
-                .parseSignedClaims(key)
-                .getPayload();
+        return parser.parseSignedClaims(key).getPayload();
     }
 
 
@@ -43,13 +72,37 @@ public class JwtUtil {
     }
 
 
+    /**
+     * O token, se ele é válido. O parse e a verificação acontecem uma vez só; depois
+     * disso o token sai do cache até o seu {@code exp}.
+     */
+    public Optional<TokenVerificado> verificar(String key) {
+        try {
+            return Optional.ofNullable(tokensVerificados.verificar(key, this::verificarAssinatura));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+
     public boolean verificarClaims(String key, UserDetails userDetails) {
-        String usuario = claims(key, Claims::getSubject);
-        return usuario.equals(userDetails.getUsername()) && !verificarValidade(key);
+        return verificar(key)
+                .filter(token -> token.usuario().equals(userDetails.getUsername()))
+                .isPresent();
     }
 
-    private boolean verificarValidade(String key) {
-        return claims(key, Claims::getExpiration).before(new Date());
+
+    private TokenVerificado verificarAssinatura(String key) {
+        Claims claims = claimsAll(key);
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
+        List<String> papeis = null;
+        if (claims.get(CLAIM_PAPEIS) instanceof List<?> lista) {
+            papeis = lista.stream().map(String::valueOf).toList();
+        }
+        Long versao = claims.get(CLAIM_VERSAO) instanceof Number numero ? numero.longValue() : null;
+        return new TokenVerificado(claims.getSubject(), claims.getExpiration().toInstant(), papeis, versao);
     }
 
 
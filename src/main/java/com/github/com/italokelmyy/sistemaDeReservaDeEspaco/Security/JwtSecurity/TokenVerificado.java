@@ -0,0 +1,15 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * O que o filtro precisa de um token cuja assinatura e validade já foram conferidas.
+ * {@code papeis} e {@code versao} são nulos nos tokens emitidos antes de irem para as claims.
+ */
+public record TokenVerificado(String usuario, Instant expiracao, List<String> papeis, Long versao) {
+
+    public boolean temClaimsDeAutenticacao() {
+        return papeis != null && versao != null;
+    }
+}
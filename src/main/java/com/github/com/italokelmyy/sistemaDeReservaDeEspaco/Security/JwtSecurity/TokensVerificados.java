@@ -0,0 +1,70 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Tokens que já passaram pela verificação, para que as próximas requisições do mesmo
+ * cliente não repitam o parse e o HMAC. A chave é o SHA-256 do token, não o token, e
+ * cada entrada expira junto com o {@code exp} dele. Tokens inválidos não entram.
+ */
+@Component
+public class TokensVerificados {
+    private final Cache<String, TokenVerificado> verificados;
+
+    public TokensVerificados(@Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new AteOExp())
+                .build();
+    }
+
+
+    /**
+     * O token já verificado, ou o resultado de {@code verificacao}, que é guardado se
+     * não for nulo. Exceções da verificação chegam a quem chamou.
+     */
+    public TokenVerificado verificar(String token, Function<String, TokenVerificado> verificacao) {
+        return verificados.get(chave(token), chave -> verificacao.apply(token));
+    }
+
+
+    private static String chave(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+
+    private static final class AteOExp implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenVerificado token, long agora) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenVerificado token, long agora, long restante) {
+            return expireAfterCreate(chave, token, agora);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenVerificado token, long agora, long restante) {
+            return restante;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.VersaoDoUsuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Versão dos tokens de cada usuário, para o filtro recusar tokens revogados sem ir ao
+ * banco. Só os usuários com alguma revogação ficam na tabela; os demais estão na
+ * versão 0. A tabela é relida periodicamente, o que leva a outras instâncias as
+ * revogações feitas aqui, e as versões só sobem: uma leitura atrasada nunca desfaz
+ * uma revogação já registrada.
+ */
+@Component
+public class VersoesDosUsuarios {
+    private final UsuarioRepository repository;
+    private volatile Map<String, Long> versoes = Map.of();
+
+    public VersoesDosUsuarios(UsuarioRepository repository) {
+        this.repository = repository;
+    }
+
+
+    public boolean vigente(String usuario, long versaoDoToken) {
+        return versaoDoToken >= versoes.getOrDefault(usuario, 0L);
+    }
+
+
+    public synchronized void registrar(String usuario, long versao) {
+        Map<String, Long> novas = new HashMap<>(versoes);
+        novas.merge(usuario, versao, Math::max);
+        versoes = Map.copyOf(novas);
+    }
+
+
+    @Scheduled(fixedDelayString = "${jwt.versoes.atualizacao-ms:30000}")
+    public void atualizar() {
+        Map<String, Long> lidas = new HashMap<>();
+        for (VersaoDoUsuario versao : repository.versoesRevogadas()) {
+            lidas.put(versao.usuario(), versao.versao());
+        }
+
+        synchronized (this) {
+            versoes.forEach((usuario, versao) -> lidas.merge(usuario, versao, Math::max));
+            versoes = Map.copyOf(lidas);
+        }
+    }
+}
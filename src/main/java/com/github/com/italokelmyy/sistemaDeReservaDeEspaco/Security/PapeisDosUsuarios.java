@@ -0,0 +1,34 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Papéis de cada usuário. Todos são {@code USER}; os listados em
+ * {@code seguranca.administradores}, separados por vírgula, também são {@code ADMIN}.
+ * Os papéis vão no token, então tirar alguém da lista só vale para os tokens emitidos
+ * depois, ou depois de revogar os tokens dele.
+ */
+@Component
+public class PapeisDosUsuarios {
+    public static final String USER = "USER";
+    public static final String ADMIN = "ADMIN";
+
+    private final Set<String> administradores;
+
+    public PapeisDosUsuarios(@Value("${seguranca.administradores:}") String administradores) {
+        this.administradores = Arrays.stream(administradores.split(","))
+                .map(String::strip)
+                .filter(usuario -> !usuario.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+
+    public String[] papeis(String usuario) {
+        return administradores.contains(usuario) ? new String[]{USER, ADMIN} : new String[]{USER};
+    }
+}
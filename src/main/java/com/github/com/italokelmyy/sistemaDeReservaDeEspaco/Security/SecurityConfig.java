@@ -3,22 +3,29 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security;
 
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
 
 @Configuration
 public class SecurityConfig {
+    public static final String PAPEL_METRICAS = "METRICAS";
 
     private final JwtFilter jwtFilter;
 
@@ -27,10 +34,45 @@ public class SecurityConfig {
         this.jwtFilter = jwtFilter;
     }
 
+    /**
+     * O actuator tem a sua própria cadeia. O health é público; o resto só aceita, por
+     * HTTP Basic, a credencial do scraper ({@code seguranca.metricas.usuario} e
+     * {@code seguranca.metricas.senha}), e não os usuários da aplicação, que qualquer
+     * um pode cadastrar. Sem senha configurada, só o health responde.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http, BCryptPasswordEncoder passwordEncoder,
+                                                   @Value("${seguranca.metricas.usuario:prometheus}") String usuario,
+                                                   @Value("${seguranca.metricas.senha:}") String senha) throws Exception {
+        InMemoryUserDetailsManager scraper = new InMemoryUserDetailsManager();
+        if (!senha.isBlank()) {
+            scraper.createUser(User.withUsername(usuario).password(passwordEncoder.encode(senha)).roles(PAPEL_METRICAS).build());
+        }
+        DaoAuthenticationProvider provedor = new DaoAuthenticationProvider(scraper);
+        provedor.setPasswordEncoder(passwordEncoder);
+
+        http.securityMatcher("/actuator/**")
+                .authorizeHttpRequests(htt ->
+                        htt.requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                                .anyRequest().hasRole(PAPEL_METRICAS)
+                )
+                .authenticationManager(new ProviderManager(provedor))
+                .requiresChannel(channel -> channel.anyRequest().requiresSecure())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.authorizeHttpRequests(htt ->
-                        htt.requestMatchers("/sala/lista", "/reserva/lista", "/usuario/cadastro", "/usuario/login").permitAll()
+                        htt.requestMatchers("/sala/lista", "/sala/livres", "/sala/*/disponibilidade", "/reserva/lista", "/usuario/cadastro", "/usuario/login").permitAll()
+                                .requestMatchers("/usuario/importacao").hasRole(PapeisDosUsuarios.ADMIN)
                                 .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
@@ -49,8 +91,8 @@ public class SecurityConfig {
 
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${seguranca.bcrypt.custo:10}") int custo) {
+        return new CodificadorDeSenhas(custo);
     }
 
     @Bean
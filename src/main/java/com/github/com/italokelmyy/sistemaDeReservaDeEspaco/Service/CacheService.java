@@ -0,0 +1,84 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache de segundo nível do Hibernate: descarte das salas quando elas mudam e
+ * estatísticas de acerto por região, usadas para dimensionar o cache.
+ */
+@Service
+public class CacheService {
+    private static final List<String> REGIOES_DE_ENTIDADES = List.of("sala", "usuario");
+    private static final List<String> REGIOES_DE_CONSULTAS = List.of(SalasRepository.REGIAO_POR_STATUS, UsuarioRepository.REGIAO_POR_NOME);
+
+    private final SessionFactory sessionFactory;
+
+    public CacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+
+    public void descartarSala(Long id) {
+        Cache cache = sessionFactory.getCache();
+        if (id != null) {
+            cache.evictEntityData(Sala.class, id);
+        }
+        cache.evictQueryRegion(SalasRepository.REGIAO_POR_STATUS);
+    }
+
+
+    /**
+     * Para gravações feitas fora do Hibernate, que não invalidam o cache de consultas:
+     * uma busca por nome que não achou o usuário continuaria sem achar.
+     */
+    public void descartarConsultasDeUsuario() {
+        sessionFactory.getCache().evictQueryRegion(UsuarioRepository.REGIAO_POR_NOME);
+    }
+
+
+    public ResponseEntity<?> estatisticas() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> regioes = new LinkedHashMap<>();
+        for (String regiao : REGIOES_DE_ENTIDADES) {
+            regioes.put(regiao, resumo(statistics.getDomainDataRegionStatistics(regiao)));
+        }
+        for (String regiao : REGIOES_DE_CONSULTAS) {
+            regioes.put(regiao, resumo(statistics.getQueryRegionStatistics(regiao)));
+        }
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("acertos", statistics.getSecondLevelCacheHitCount());
+        resposta.put("faltas", statistics.getSecondLevelCacheMissCount());
+        resposta.put("acertosDeConsultas", statistics.getQueryCacheHitCount());
+        resposta.put("faltasDeConsultas", statistics.getQueryCacheMissCount());
+        resposta.put("regioes", regioes);
+        return ResponseEntity.ok(resposta);
+    }
+
+
+    private Map<String, Object> resumo(CacheRegionStatistics regiao) {
+        if (regiao == null) {
+            return Map.of();
+        }
+        long consultas = regiao.getHitCount() + regiao.getMissCount();
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("acertos", regiao.getHitCount());
+        resumo.put("faltas", regiao.getMissCount());
+        resumo.put("insercoes", regiao.getPutCount());
+        resumo.put("taxaDeAcerto", consultas == 0 ? 0.0 : (double) regiao.getHitCount() / consultas);
+        return resumo;
+    }
+}
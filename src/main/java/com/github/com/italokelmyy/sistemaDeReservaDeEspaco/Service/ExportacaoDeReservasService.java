@@ -0,0 +1,86 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporta a tabela de reservas como NDJSON, uma reserva por linha. As linhas saem
+ * de um Stream do JPA e o contexto de persistência é limpo a cada lote, então a
+ * memória usada não cresce com o tamanho da tabela.
+ * <p>
+ * A exportação pode levar bem mais que o timeout padrão das requisições assíncronas, que
+ * vale também para o login. Por isso o prazo dela é próprio,
+ * {@code reserva.exportacao.tempo-maximo} (padrão 1h), e é aplicado só a ela.
+ */
+@Service
+public class ExportacaoDeReservasService {
+    private final SalaResevadaRepository resevadaRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter escritor;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoDoLote;
+    private final Duration tempoMaximo;
+
+    public ExportacaoDeReservasService(SalaResevadaRepository resevadaRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${reserva.exportacao.tamanho-do-lote:1000}") int tamanhoDoLote,
+                                       @Value("${reserva.exportacao.tempo-maximo:1h}") Duration tempoMaximo) {
+        this.resevadaRepository = resevadaRepository;
+        this.entityManager = entityManager;
+        this.escritor = objectMapper.writerFor(SalaResevada.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.tamanhoDoLote = tamanhoDoLote;
+        this.tempoMaximo = tempoMaximo;
+    }
+
+
+    public Duration tempoMaximo() {
+        return tempoMaximo;
+    }
+
+
+    public StreamingResponseBody exportar() {
+        return saida -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> escrever(saida));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+
+    private void escrever(OutputStream saida) {
+        try (Stream<SalaResevada> reservas = resevadaRepository.exportarTodas()) {
+            Iterator<SalaResevada> iterador = reservas.iterator();
+            int noLote = 0;
+            while (iterador.hasNext()) {
+                saida.write(escritor.writeValueAsBytes(iterador.next()));
+                saida.write('\n');
+                if (++noLote == tamanhoDoLote) {
+                    entityManager.clear();
+                    noLote = 0;
+                }
+            }
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.SequenciasDeIds;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.ResultadoDaImportacao;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Importa usuários de um CSV {@code usuario,email,senha}, lido em streaming. A senha é
+ * a última coluna e pode conter vírgulas. As linhas são validadas com as mesmas regras
+ * do cadastro e gravadas em lotes: os hashes de cada lote são calculados em paralelo e
+ * os inserts vão num único batch JDBC por lote, com os ids tirados da sequência do
+ * Hibernate.
+ * <p>
+ * O BCrypt roda em threads próprias ({@code usuario.importacao.threads}, padrão uma por
+ * núcleo), e não no ForkJoinPool comum, que é dividido com o resto da aplicação. Cada
+ * lote é repartido em uma tarefa por thread; com as threads ocupadas por outra
+ * importação, a tarefa que não cabe na fila roda na própria thread da requisição.
+ */
+@Service
+public class ImportacaoDeUsuariosService implements DisposableBean {
+    private static final String CABECALHO = "usuario,email,senha";
+    private static final String INSERT = "insert into usuario (id, usuario, email, senha, versao) values (?, ?, ?, ?, 0)";
+    private static final int MAXIMO_DE_ERROS = 100;
+
+    private final UsuarioRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final SequenciasDeIds sequenciasDeIds;
+    private final int tamanhoDoLote;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+
+    public ImportacaoDeUsuariosService(UsuarioRepository repository, JdbcTemplate jdbcTemplate, @Lazy PasswordEncoder passwordEncoder,
+                                       Validator validator, CacheService cacheService, PlatformTransactionManager transactionManager,
+                                       SequenciasDeIds sequenciasDeIds,
+                                       @Value("${usuario.importacao.tamanho-do-lote:1000}") int tamanhoDoLote,
+                                       @Value("${usuario.importacao.threads:0}") int threads) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.cacheService = cacheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sequenciasDeIds = sequenciasDeIds;
+        this.tamanhoDoLote = tamanhoDoLote;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.threads),
+                Thread.ofPlatform().name("importacao-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+
+    public ResponseEntity<?> importar(InputStream csv) {
+        Importacao importacao = new Importacao();
+        try {
+            BufferedReader leitor = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+            List<Linha> lote = new ArrayList<>(tamanhoDoLote);
+            String texto;
+            long numero = 0;
+            while ((texto = leitor.readLine()) != null) {
+                numero++;
+                texto = texto.strip();
+                if (texto.isEmpty() || (numero == 1 && texto.replace("\uFEFF", "").equalsIgnoreCase(CABECALHO))) {
+                    continue;
+                }
+
+                Linha linha = importacao.ler(numero, texto);
+                if (linha != null) {
+                    lote.add(linha);
+                }
+                if (lote.size() == tamanhoDoLote) {
+                    gravar(lote, importacao);
+                    lote.clear();
+                }
+            }
+            gravar(lote, importacao);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Não foi possível ler o CSV");
+        } finally {
+            if (importacao.importados > 0) {
+                cacheService.descartarConsultasDeUsuario();
+            }
+        }
+
+        return ResponseEntity.ok(new ResultadoDaImportacao(importacao.importados, importacao.recusados, importacao.erros));
+    }
+
+
+    private void gravar(List<Linha> lote, Importacao importacao) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        Set<String> usuariosExistentes = new HashSet<>(repository.usuariosExistentes(lote.stream().map(linha -> linha.usuario().getUsuario()).toList()));
+        Set<String> emailsExistentes = new HashSet<>(repository.emailsExistentes(lote.stream().map(linha -> linha.usuario().getEmail()).toList()));
+        List<Linha> novas = new ArrayList<>(lote.size());
+        for (Linha linha : lote) {
+            if (usuariosExistentes.contains(linha.usuario().getUsuario())) {
+                importacao.recusar(linha.numero(), "Usuário já cadastrado");
+            } else if (emailsExistentes.contains(linha.usuario().getEmail())) {
+                importacao.recusar(linha.numero(), "E-mail já cadastrado");
+            } else {
+                novas.add(linha);
+            }
+        }
+
+        if (novas.isEmpty()) {
+            return;
+        }
+        long[] ids = sequenciasDeIds.proximos(Usuario.class, novas.size());
+        String[] hashes = codificarSenhas(novas);
+        List<Object[]> parametros = IntStream.range(0, novas.size())
+                .mapToObj(i -> new Object[]{ids[i], novas.get(i).usuario().getUsuario(), novas.get(i).usuario().getEmail(), hashes[i]})
+                .toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, parametros));
+            importacao.importados += parametros.size();
+        } catch (DataIntegrityViolationException e) {
+            gravarUmAUm(novas, parametros, importacao);
+        }
+    }
+
+
+    private String[] codificarSenhas(List<Linha> linhas) {
+        String[] hashes = new String[linhas.size()];
+        int partes = Math.min(threads, linhas.size());
+        List<Future<?>> tarefas = new ArrayList<>(partes);
+        for (int parte = 0; parte < partes; parte++) {
+            int de = parte * linhas.size() / partes;
+            int ate = (parte + 1) * linhas.size() / partes;
+            tarefas.add(executor.submit(() -> {
+                for (int i = de; i < ate; i++) {
+                    hashes[i] = passwordEncoder.encode(linhas.get(i).usuario().getSenha());
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação interrompida", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        }
+        return hashes;
+    }
+
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+
+    /**
+     * Quando alguém cadastrou o mesmo usuário ou e-mail entre a verificação e o batch,
+     * o lote é refeito linha a linha para aproveitar as demais.
+     */
+    private void gravarUmAUm(List<Linha> linhas, List<Object[]> parametros, Importacao importacao) {
+        for (int i = 0; i < linhas.size(); i++) {
+            try {
+                jdbcTemplate.update(INSERT, parametros.get(i));
+                importacao.importados++;
+            } catch (DataIntegrityViolationException e) {
+                importacao.recusar(linhas.get(i).numero(), UsuarioService.mensagemDeDuplicidade(e));
+            }
+        }
+    }
+
+
+    private record Linha(long numero, Usuario usuario) {
+    }
+
+
+    private final class Importacao {
+        private final Set<String> usuarios = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final List<String> erros = new ArrayList<>();
+        private long importados;
+        private long recusados;
+
+
+        /**
+         * A linha como usuário, ou {@code null} se ela foi recusada.
+         */
+        private Linha ler(long numero, String texto) {
+            String[] colunas = texto.split(",", 3);
+            if (colunas.length < 3) {
+                recusar(numero, "Esperado usuario,email,senha");
+                return null;
+            }
+
+            Usuario usuario = new Usuario(null, colunas[0].strip(), colunas[2], colunas[1].strip());
+            Set<ConstraintViolation<Usuario>> violacoes = validator.validate(usuario);
+            if (!violacoes.isEmpty()) {
+                recusar(numero, violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+                return null;
+            }
+            if (!usuarios.add(usuario.getUsuario())) {
+                recusar(numero, "Usuário repetido no arquivo");
+                return null;
+            }
+            if (!emails.add(usuario.getEmail())) {
+                recusar(numero, "E-mail repetido no arquivo");
+                return null;
+            }
+            return new Linha(numero, usuario);
+        }
+
+
+        private void recusar(long numero, String motivo) {
+            recusados++;
+            if (erros.size() < MAXIMO_DE_ERROS) {
+                erros.add("Linha " + numero + ": " + motivo);
+            }
+        }
+    }
+}
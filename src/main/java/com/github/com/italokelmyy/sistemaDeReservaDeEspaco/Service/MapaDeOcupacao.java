@@ -0,0 +1,78 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Faixas de 15 minutos ocupadas de cada sala nos dias que um conjunto de reservas
+ * toca, com um bit por faixa. Só os pares (sala, dia) dessas reservas são lidos do banco, e o
+ * mapa permite validar o conjunto inteiro contra o banco e entre si.
+ */
+final class MapaDeOcupacao {
+    private final Map<Long, Map<LocalDate, BitSet>> ocupados = new HashMap<>();
+
+    private MapaDeOcupacao() {
+    }
+
+
+    /**
+     * Salas que tocam os mesmos dias são lidas numa única consulta; num lote típico,
+     * com todas as reservas no mesmo dia, isso é uma consulta só.
+     */
+    static MapaDeOcupacao carregar(HorarioOcupadoRepository repository, Map<Long, ? extends Collection<LocalDateTime>> iniciosPorSala) {
+        Map<Set<LocalDate>, List<Long>> salasPorDias = new HashMap<>();
+        iniciosPorSala.forEach((salaId, inicios) -> {
+            Set<LocalDate> dias = new HashSet<>();
+            for (LocalDateTime inicio : inicios) {
+                if (inicio != null) {
+                    dias.add(inicio.toLocalDate());
+                    dias.add(inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS - 1).toLocalDate());
+                }
+            }
+            if (!dias.isEmpty()) {
+                salasPorDias.computeIfAbsent(dias, d -> new ArrayList<>()).add(salaId);
+            }
+        });
+
+        MapaDeOcupacao mapa = new MapaDeOcupacao();
+        salasPorDias.forEach((dias, salaIds) -> {
+            for (HorarioOcupado horario : repository.findBySalaIdInAndDataIn(salaIds, dias)) {
+                mapa.doDia(horario.getSalaId(), horario.getData()).set(horario.getSlot());
+            }
+        });
+        return mapa;
+    }
+
+
+    /**
+     * Marca as faixas da reserva que começa em {@code inicio}; retorna false,
+     * sem marcar nada, se alguma delas já estiver ocupada.
+     */
+    boolean ocupar(Long salaId, LocalDateTime inicio) {
+        List<HorarioOcupado> slots = HorarioOcupado.doIntervalo(salaId, inicio, inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS), null);
+        for (HorarioOcupado horario : slots) {
+            if (doDia(salaId, horario.getData()).get(horario.getSlot())) {
+                return false;
+            }
+        }
+        slots.forEach(horario -> doDia(salaId, horario.getData()).set(horario.getSlot()));
+        return true;
+    }
+
+
+    private BitSet doDia(Long salaId, LocalDate dia) {
+        return ocupados.computeIfAbsent(salaId, id -> new HashMap<>()).computeIfAbsent(dia, d -> new BitSet(HorarioOcupado.SLOTS_POR_DIA));
+    }
+}
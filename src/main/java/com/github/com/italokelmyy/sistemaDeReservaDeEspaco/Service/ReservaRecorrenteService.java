@@ -0,0 +1,212 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.TravasPorSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.ReservaRecorrente;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.ReservaRecorrenteRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+@Service
+public class ReservaRecorrenteService {
+    private final ReservaRecorrenteRepository recorrenteRepository;
+    private final SalasRepository salasRepository;
+    private final HorarioOcupadoRepository horarioOcupadoRepository;
+    private final SalaReservadaService salaReservadaService;
+    private final TravasPorSala travasPorSala;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonteEmDias;
+
+    public ReservaRecorrenteService(ReservaRecorrenteRepository recorrenteRepository, SalasRepository salasRepository, HorarioOcupadoRepository horarioOcupadoRepository,
+                                    SalaReservadaService salaReservadaService, TravasPorSala travasPorSala, PlatformTransactionManager transactionManager,
+                                    @Value("${reserva.recorrencia.horizonte-em-dias:90}") int horizonteEmDias) {
+        this.recorrenteRepository = recorrenteRepository;
+        this.salasRepository = salasRepository;
+        this.horarioOcupadoRepository = horarioOcupadoRepository;
+        this.salaReservadaService = salaReservadaService;
+        this.travasPorSala = travasPorSala;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizonteEmDias = horizonteEmDias;
+    }
+
+
+    /**
+     * Ocorrências da regra entre {@code de} e {@code ate} (inclusive), geradas sob demanda.
+     * A primeira ocorrência a partir de {@code de} é calculada direto, sem percorrer a série desde o início.
+     */
+    public static Stream<LocalDateTime> ocorrencias(ReservaRecorrente regra, LocalDate de, LocalDate ate) {
+        LocalTime horario = LocalTime.parse(regra.getHorarioAgendado());
+        long passo = (long) regra.getFrequencia().getDiasPorPasso() * Math.max(1, regra.getIntervalo() == null ? 1 : regra.getIntervalo());
+        LocalDate ultimoDia = ate.isBefore(regra.getDataFinal()) ? ate : regra.getDataFinal();
+
+        long diasAteInicio = ChronoUnit.DAYS.between(regra.getDataInicial(), de);
+        long passosPulados = diasAteInicio <= 0 ? 0 : (diasAteInicio + passo - 1) / passo;
+        LocalDate primeiroDia = regra.getDataInicial().plusDays(passosPulados * passo);
+
+        return Stream.iterate(primeiroDia, dia -> !dia.isAfter(ultimoDia), dia -> dia.plusDays(passo))
+                .map(dia -> LocalDateTime.of(dia, horario));
+    }
+
+
+    public ResponseEntity<?> criar(ReservaRecorrente regra) {
+        if (regra.getSalaId() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Sala não encontrada");
+        }
+        if (regra.getFrequencia() == null || regra.getDataInicial() == null || regra.getDataFinal() == null
+                || regra.getDataFinal().isBefore(regra.getDataInicial())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Informe a frequência e um período válido (dataInicial até dataFinal)");
+        }
+        LocalTime horario;
+        try {
+            horario = LocalTime.parse(regra.getHorarioAgendado());
+        } catch (DateTimeParseException | NullPointerException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Formato de horário inválido. Use HH:mm (ex: 14:00)");
+        }
+        if (!HorarioOcupado.naGrade(horario)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(SalaReservadaService.FORA_DA_GRADE);
+        }
+
+        Optional<Sala> findById = salasRepository.findById(regra.getSalaId());
+        if (findById.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Sala não encontrada");
+        }
+        Sala sala = findById.get();
+
+        LocalDate horizonte = LocalDate.now().plusDays(horizonteEmDias);
+        LocalDate materializarAte = regra.getDataFinal().isBefore(horizonte) ? regra.getDataFinal() : horizonte;
+        List<LocalDateTime> inicios = ocorrencias(regra, regra.getDataInicial(), materializarAte).toList();
+
+        try {
+            return travasPorSala.executar(sala.getId(), () -> transactionTemplate.execute(status -> {
+                MapaDeOcupacao ocupacao = MapaDeOcupacao.carregar(horarioOcupadoRepository, Map.of(sala.getId(), inicios));
+                List<LocalDateTime> conflitos = inicios.stream()
+                        .filter(inicio -> !ocupacao.ocupar(sala.getId(), inicio))
+                        .toList();
+                if (!conflitos.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                            "mensagem", "Algumas ocorrências conflitam com reservas existentes",
+                            "conflitos", conflitos));
+                }
+
+                regra.setMaterializadaAte(materializarAte);
+                recorrenteRepository.save(regra);
+                salaReservadaService.gravarReservas(reservas(regra, sala, inicios));
+                return ResponseEntity.ok("Reserva recorrente criada com " + inicios.size() + " ocorrências");
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflito com uma reserva feita ao mesmo tempo. Tente novamente.");
+        }
+    }
+
+
+    /**
+     * Avança o horizonte das séries. A expansão das séries de salas diferentes roda em paralelo
+     * no fork-join pool; a gravação é feita sala a sala, cada uma na sua transação.
+     * Ocorrências que conflitam com reservas avulsas são puladas.
+     */
+    @Scheduled(cron = "${reserva.recorrencia.cron:0 0 2 * * *}")
+    public void materializarHorizonte() {
+        LocalDate horizonte = LocalDate.now().plusDays(horizonteEmDias);
+        Map<Long, List<ReservaRecorrente>> regrasPorSala = recorrenteRepository.pendentesAte(horizonte).stream()
+                .collect(Collectors.groupingBy(ReservaRecorrente::getSalaId));
+        if (regrasPorSala.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Sala> salas = new HashMap<>();
+        salasRepository.findAllById(regrasPorSala.keySet()).forEach(sala -> salas.put(sala.getId(), sala));
+
+        Stream<Map.Entry<Long, List<ReservaRecorrente>>> entradas = regrasPorSala.entrySet().stream();
+        if (regrasPorSala.size() > 1) {
+            entradas = entradas.parallel();
+        }
+        Map<Long, List<Ocorrencia>> ocorrenciasPorSala = entradas
+                .filter(entrada -> salas.containsKey(entrada.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, entrada -> expandir(entrada.getValue(), horizonte)));
+
+        ocorrenciasPorSala.forEach((salaId, ocorrencias) -> {
+            try {
+                travasPorSala.executar(salaId, () -> transactionTemplate.execute(status ->
+                        gravarOcorrencias(salas.get(salaId), regrasPorSala.get(salaId), ocorrencias, horizonte)));
+            } catch (DataIntegrityViolationException e) {
+                System.out.println("Séries da sala " + salaId + " não foram estendidas por conflito simultâneo; nova tentativa na próxima execução");
+            }
+        });
+    }
+
+
+    private List<Ocorrencia> expandir(List<ReservaRecorrente> regras, LocalDate horizonte) {
+        List<Ocorrencia> ocorrencias = new ArrayList<>();
+        for (ReservaRecorrente regra : regras) {
+            ocorrencias(regra, regra.getMaterializadaAte().plusDays(1), horizonte)
+                    .forEach(inicio -> ocorrencias.add(new Ocorrencia(regra, inicio)));
+        }
+        return ocorrencias;
+    }
+
+
+    private int gravarOcorrencias(Sala sala, List<ReservaRecorrente> regras, List<Ocorrencia> ocorrencias, LocalDate horizonte) {
+        MapaDeOcupacao ocupacao = MapaDeOcupacao.carregar(horarioOcupadoRepository,
+                Map.of(sala.getId(), ocorrencias.stream().map(Ocorrencia::inicio).toList()));
+
+        List<SalaResevada> novasReservas = new ArrayList<>();
+        for (Ocorrencia ocorrencia : ocorrencias) {
+            if (ocupacao.ocupar(sala.getId(), ocorrencia.inicio())) {
+                novasReservas.add(reserva(ocorrencia.regra(), sala, ocorrencia.inicio()));
+            } else {
+                System.out.println("Ocorrência " + ocorrencia.inicio() + " da série " + ocorrencia.regra().getId() + " pulada por conflito");
+            }
+        }
+
+        for (ReservaRecorrente regra : regras) {
+            regra.setMaterializadaAte(regra.getDataFinal().isBefore(horizonte) ? regra.getDataFinal() : horizonte);
+        }
+        recorrenteRepository.saveAll(regras);
+        salaReservadaService.gravarReservas(novasReservas);
+        return novasReservas.size();
+    }
+
+
+    private List<SalaResevada> reservas(ReservaRecorrente regra, Sala sala, List<LocalDateTime> inicios) {
+        List<SalaResevada> reservas = new ArrayList<>(inicios.size());
+        for (LocalDateTime inicio : inicios) {
+            reservas.add(reserva(regra, sala, inicio));
+        }
+        return reservas;
+    }
+
+
+    private SalaResevada reserva(ReservaRecorrente regra, Sala sala, LocalDateTime inicio) {
+        SalaResevada reserva = SalaReservadaService.novaReserva(sala, regra.getResponsavel_pela_sala(), regra.getHorarioAgendado(), inicio);
+        reserva.setRecorrenciaId(regra.getId());
+        return reserva;
+    }
+
+
+    private record Ocorrencia(ReservaRecorrente regra, LocalDateTime inicio) {
+    }
+}
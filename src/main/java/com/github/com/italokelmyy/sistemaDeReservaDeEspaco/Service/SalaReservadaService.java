@@ -1,97 +1,348 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
 
-import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.DisponibilidadeDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.PublicadorDeReservas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.TravasPorSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.ResultadoDaReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 
 @Service
 public class SalaReservadaService {
+    public static final int TAMANHO_MAXIMO_DO_LOTE = 500;
+    private static final String CONFLITO_DE_HORARIO = "Já existe uma reserva próxima a esse horário. É necessário um intervalo de pelo menos 30 minutos.";
+    static final String FORA_DA_GRADE = "As reservas começam de 15 em 15 minutos (ex: 14:00, 14:15, 14:30)";
+
     private final SalaResevadaRepository resevadaRepository;
     private final SalasRepository salasRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final HorarioOcupadoRepository horarioOcupadoRepository;
+    private final PublicadorDeReservas publicadorDeReservas;
+    private final TravasPorSala travasPorSala;
+    private final DisponibilidadeDasSalas disponibilidade;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Timer> tempoDeReserva;
+    private final Timer tempoDaTrava;
+    private final Timer tempoDoConflito;
+    private final Timer tempoDaGravacao;
+    private final Meter.MeterProvider<Counter> conflitos;
 
-    public SalaReservadaService(SalaResevadaRepository resevadaRepository, SalasRepository salasRepository, RabbitTemplate rabbitTemplate) {
+    public SalaReservadaService(SalaResevadaRepository resevadaRepository, SalasRepository salasRepository, HorarioOcupadoRepository horarioOcupadoRepository,
+                                PublicadorDeReservas publicadorDeReservas, TravasPorSala travasPorSala, DisponibilidadeDasSalas disponibilidade,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.resevadaRepository = resevadaRepository;
         this.salasRepository = salasRepository;
-        this.rabbitTemplate = rabbitTemplate;
+        this.horarioOcupadoRepository = horarioOcupadoRepository;
+        this.publicadorDeReservas = publicadorDeReservas;
+        this.travasPorSala = travasPorSala;
+        this.disponibilidade = disponibilidade;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.tempoDeReserva = Timer.builder("reservas.reservar")
+                .description("Tempo de uma reserva avulsa, por status da resposta")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.tempoDaTrava = fase("trava", "Espera pela trava da sala", meterRegistry);
+        this.tempoDoConflito = fase("conflito", "Gravação da reserva e dos slots até o flush, onde a chave única recusa conflitos", meterRegistry);
+        this.tempoDaGravacao = fase("gravacao", "Disponibilidade em memória e evento no outbox, antes do commit", meterRegistry);
+        this.conflitos = Counter.builder("reservas.conflitos")
+                .description("Reservas recusadas por conflito de horário")
+                .withRegistry(meterRegistry);
+    }
+
+
+    private static Timer fase(String fase, String descricao, MeterRegistry meterRegistry) {
+        return Timer.builder("reservas.reservar.fase")
+                .description(descricao)
+                .tag("fase", fase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
 
     public ResponseEntity<?> reservaSala(Long id, String nomeDoResponsavel, String horarioAgendado) {
-        Optional<Sala> findById = salasRepository.findById(id);
+        return reservaSala(id, nomeDoResponsavel, LocalDate.now(), horarioAgendado);
+    }
 
 
-        if (findById.isEmpty()) {
+    public ResponseEntity<?> reservaSala(Long id, String nomeDoResponsavel, LocalDate data, String horarioAgendado) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        ResponseEntity<?> resposta = tentarReservar(id, nomeDoResponsavel, data, horarioAgendado);
+        amostra.stop(tempoDeReserva.withTag("status", String.valueOf(resposta.getStatusCode().value())));
+        return resposta;
+    }
+
+
+    private ResponseEntity<?> tentarReservar(Long id, String nomeDoResponsavel, LocalDate data, String horarioAgendado) {
+        if (id == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Sala não encontrada");
         }
 
-        Sala reservado = findById.get();
-
         LocalTime novoHorario;
         try {
             novoHorario = LocalTime.parse(horarioAgendado);
         } catch (DateTimeParseException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Formato de horário inválido. Use HH:mm (ex: 14:00)");
         }
+        if (!HorarioOcupado.naGrade(novoHorario)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(FORA_DA_GRADE);
+        }
+
+        LocalDate dataDaReserva = data != null ? data : LocalDate.now();
+        LocalDateTime inicio = LocalDateTime.of(dataDaReserva, novoHorario);
+
+        Timer.Sample trava = Timer.start(meterRegistry);
+        try {
+            return travasPorSala.executar(id, () -> {
+                trava.stop(tempoDaTrava);
+                return transactionTemplate.execute(status -> reservar(id, nomeDoResponsavel, horarioAgendado, inicio));
+            });
+        } catch (DataIntegrityViolationException e) {
+            conflitos.withTag("origem", "avulsa").increment();
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(CONFLITO_DE_HORARIO);
+        }
+    }
+
+
+    private ResponseEntity<?> reservar(Long id, String nomeDoResponsavel, String horarioAgendado, LocalDateTime inicio) {
+        Optional<Sala> findById = salasRepository.findById(id);
 
 
-        List<SalaResevada> reservasExistentes = resevadaRepository.findBySalaId(reservado.getId());
+        if (findById.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Sala não encontrada");
+        }
 
-        for (SalaResevada reserva : reservasExistentes) {
-            LocalTime horarioExistente = LocalTime.parse(reserva.getHorarioAgendado());
-            long minutos = Duration.between(horarioExistente, novoHorario).abs().toMinutes();
+        Sala reservado = findById.get();
+        SalaResevada novaReserva = novaReserva(reservado, nomeDoResponsavel, horarioAgendado, inicio);
 
-            if (minutos < 30) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                        .body("Já existe uma reserva próxima a esse horário. É necessário um intervalo de pelo menos 30 minutos.");
+        tempoDoConflito.record(() -> {
+            resevadaRepository.save(novaReserva);
+            horarioOcupadoRepository.saveAllAndFlush(HorarioOcupado.daReserva(novaReserva));
+        });
+        tempoDaGravacao.record(() -> {
+            disponibilidade.ocupar(novaReserva);
+            if (novaReserva.getStatus() == StatusDaSala.Ocupada) {
+                publicadorDeReservas.publicar(List.of(novaReserva));
             }
+        });
+
+        return ResponseEntity.ok("Sala adicionada com sucesso");
+    }
+
+
+    public ResponseEntity<?> reservarEmLote(List<SalaResevada> pedidos) {
+        if (pedidos == null || pedidos.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Nenhuma reserva informada");
+        }
+        if (pedidos.size() > TAMANHO_MAXIMO_DO_LOTE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("O lote aceita no máximo " + TAMANHO_MAXIMO_DO_LOTE + " reservas");
         }
 
+        ResultadoDaReserva[] resultados = new ResultadoDaReserva[pedidos.size()];
+        LocalDateTime[] inicios = new LocalDateTime[pedidos.size()];
+        Set<Long> salaIds = new HashSet<>();
 
+        for (int i = 0; i < pedidos.size(); i++) {
+            SalaResevada pedido = pedidos.get(i);
+            if (pedido.getSalaId() == null) {
+                resultados[i] = ResultadoDaReserva.erro(i, HttpStatus.NOT_FOUND, "Sala não encontrada");
+                continue;
+            }
+            try {
+                LocalDate data = pedido.getData() != null ? pedido.getData() : LocalDate.now();
+                inicios[i] = LocalDateTime.of(data, LocalTime.parse(pedido.getHorarioAgendado()));
+            } catch (DateTimeParseException | NullPointerException e) {
+                resultados[i] = ResultadoDaReserva.erro(i, HttpStatus.BAD_REQUEST, "Formato de horário inválido. Use HH:mm (ex: 14:00)");
+                continue;
+            }
+            if (!HorarioOcupado.naGrade(inicios[i].toLocalTime())) {
+                resultados[i] = ResultadoDaReserva.erro(i, HttpStatus.BAD_REQUEST, FORA_DA_GRADE);
+                continue;
+            }
+            salaIds.add(pedido.getSalaId());
+        }
+
+        if (!salaIds.isEmpty()) {
+            try {
+                travasPorSala.executar(salaIds, () -> transactionTemplate.execute(status ->
+                        reservarLote(pedidos, inicios, resultados, salaIds)));
+            } catch (DataIntegrityViolationException e) {
+                for (int i = 0; i < resultados.length; i++) {
+                    if (resultados[i] == null) {
+                        conflitos.withTag("origem", "lote").increment();
+                        resultados[i] = ResultadoDaReserva.erro(i, HttpStatus.CONFLICT, "Conflito com uma reserva feita ao mesmo tempo. Tente novamente.");
+                    }
+                }
+            }
+        }
+
+        return ResponseEntity.ok(Arrays.asList(resultados));
+    }
+
+
+    private List<SalaResevada> reservarLote(List<SalaResevada> pedidos, LocalDateTime[] inicios, ResultadoDaReserva[] resultados, Set<Long> salaIds) {
+        Map<Long, Sala> salas = new HashMap<>();
+        salasRepository.findAllById(salaIds).forEach(sala -> salas.put(sala.getId(), sala));
+
+        Map<Long, List<LocalDateTime>> iniciosPorSala = new HashMap<>();
+        for (int i = 0; i < pedidos.size(); i++) {
+            if (resultados[i] == null && salas.containsKey(pedidos.get(i).getSalaId())) {
+                iniciosPorSala.computeIfAbsent(pedidos.get(i).getSalaId(), id -> new ArrayList<>()).add(inicios[i]);
+            }
+        }
+        MapaDeOcupacao ocupacao = MapaDeOcupacao.carregar(horarioOcupadoRepository, iniciosPorSala);
+
+        List<SalaResevada> novasReservas = new ArrayList<>();
+        List<Integer> indicesAceitos = new ArrayList<>();
+        for (int i = 0; i < pedidos.size(); i++) {
+            if (resultados[i] != null) {
+                continue;
+            }
+            SalaResevada pedido = pedidos.get(i);
+            Sala sala = salas.get(pedido.getSalaId());
+            if (sala == null) {
+                resultados[i] = ResultadoDaReserva.erro(i, HttpStatus.NOT_FOUND, "Sala não encontrada");
+                continue;
+            }
+
+            if (!ocupacao.ocupar(sala.getId(), inicios[i])) {
+                conflitos.withTag("origem", "lote").increment();
+                resultados[i] = ResultadoDaReserva.erro(i, HttpStatus.CONFLICT, CONFLITO_DE_HORARIO);
+                continue;
+            }
+
+            novasReservas.add(novaReserva(sala, pedido.getResponsavel_pela_sala(), pedido.getHorarioAgendado(), inicios[i]));
+            indicesAceitos.add(i);
+        }
+
+        gravarReservas(novasReservas);
+
+        for (int i = 0; i < novasReservas.size(); i++) {
+            int indice = indicesAceitos.get(i);
+            resultados[indice] = ResultadoDaReserva.sucesso(indice, novasReservas.get(i).getId());
+        }
+        return novasReservas;
+    }
+
+
+    /**
+     * Grava reservas já validadas, com os seus slots, e publica os eventos depois do commit.
+     * Deve ser chamado dentro da transação de quem validou as reservas.
+     */
+    public void gravarReservas(List<SalaResevada> novasReservas) {
+        if (novasReservas.isEmpty()) {
+            return;
+        }
+
+        resevadaRepository.saveAll(novasReservas);
+        List<HorarioOcupado> slots = new ArrayList<>(novasReservas.size() * HorarioOcupado.SLOTS_POR_RESERVA);
+        for (SalaResevada reserva : novasReservas) {
+            slots.addAll(HorarioOcupado.daReserva(reserva));
+        }
+        horarioOcupadoRepository.saveAllAndFlush(slots);
+        novasReservas.forEach(disponibilidade::ocupar);
+
+        publicadorDeReservas.publicar(novasReservas);
+    }
+
+
+    static SalaResevada novaReserva(Sala sala, String nomeDoResponsavel, String horarioAgendado, LocalDateTime inicio) {
         SalaResevada novaReserva = new SalaResevada();
-        novaReserva.setSalaId(reservado.getId());
+        novaReserva.setSalaId(sala.getId());
         novaReserva.setResponsavel_pela_sala(nomeDoResponsavel);
-        novaReserva.setCodigo_da_sala(reservado.getCodigo());
+        novaReserva.setCodigo_da_sala(sala.getCodigo());
         novaReserva.setHorarioAgendado(horarioAgendado);
+        novaReserva.setData(inicio.toLocalDate());
+        novaReserva.setInicio(inicio);
+        novaReserva.setFim(inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
         novaReserva.setStatus(StatusDaSala.Ocupada);
+        return novaReserva;
+    }
 
-        resevadaRepository.save(novaReserva);
-        if (novaReserva.getStatus() == StatusDaSala.Ocupada) {
-            System.out.println("Publicando objeto Tarefa como JSON para a fila: " + novaReserva.getSalaId());
-            rabbitTemplate.convertAndSend(RabbitMqConfig.SALARESERVADA, novaReserva);
-        }
 
-        return ResponseEntity.ok("Sala adicionada com sucesso");
+    public ResponseEntity<?> mostarSalasReservadas() {
+        return mostarSalasReservadas(null, null, null, null, null, null, null);
     }
 
 
-    public ResponseEntity<?> mostarSalasReservadas() {
-        List<SalaResevada> salaResevada = resevadaRepository.findAll();
+    /**
+     * Reservas em ordem de início, paginadas por chave: o cursor é o início e o id
+     * da última reserva da página anterior, então o custo de cada página não
+     * depende do tamanho da tabela. Uma reserva sem início vai no cursor só com o id
+     * ({@code _42}).
+     */
+    public ResponseEntity<?> mostarSalasReservadas(Long salaId, String responsavel, StatusDaSala status,
+                                                   LocalDateTime de, LocalDateTime ate, String cursor, Integer tamanho) {
+        LocalDateTime aposInicio = null;
+        Long aposId = null;
+        if (cursor != null) {
+            try {
+                int separador = cursor.lastIndexOf('_');
+                aposInicio = separador == 0 ? null : LocalDateTime.parse(cursor.substring(0, separador));
+                aposId = Long.parseLong(cursor.substring(separador + 1));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Cursor inválido");
+            }
+        }
+
+        int limite = Pagina.tamanho(tamanho);
+        List<SalaResevada> salaResevada = resevadaRepository.listar(salaId, responsavel, status, de, ate, aposInicio, aposId, Limit.of(limite + 1));
 
-        if (salaResevada.isEmpty()) {
+        if (salaResevada.isEmpty() && cursor == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhuma sala reservada");
         }
 
-        return ResponseEntity.ok(salaResevada);
+        return ResponseEntity.ok(Pagina.de(salaResevada, limite, reserva -> (reserva.getInicio() != null ? reserva.getInicio() : "") + "_" + reserva.getId()));
     }
 
 
     public ResponseEntity<?> removerSalaReservada(Long id) {
-        resevadaRepository.deleteById(id);
+        Optional<SalaResevada> findById = resevadaRepository.findById(id);
+        Supplier<Object> remover = () -> transactionTemplate.execute(status -> {
+            horarioOcupadoRepository.liberarDaReserva(id);
+            resevadaRepository.deleteById(id);
+            findById.ifPresent(disponibilidade::liberar);
+            return null;
+        });
+
+        if (findById.isPresent()) {
+            travasPorSala.executar(findById.get().getSalaId(), remover);
+        } else {
+            remover.get();
+        }
         return ResponseEntity.ok("Sala removida com sucesso");
     }
 
@@ -1,12 +1,23 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
 
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoDeSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoSerializado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.DisponibilidadeDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,25 +25,68 @@ import java.util.Optional;
 public class SalaService {
 
     private final SalasRepository repository;
+    private final DisponibilidadeDasSalas disponibilidade;
+    private final CatalogoDeSalas catalogo;
+    private final CatalogoSerializado catalogoSerializado;
+    private final CacheService cacheService;
 
 
-    public SalaService(SalasRepository repository) {
+    public SalaService(SalasRepository repository, DisponibilidadeDasSalas disponibilidade, CatalogoDeSalas catalogo,
+                       CatalogoSerializado catalogoSerializado, CacheService cacheService) {
         this.repository = repository;
+        this.disponibilidade = disponibilidade;
+        this.catalogo = catalogo;
+        this.catalogoSerializado = catalogoSerializado;
+        this.cacheService = cacheService;
     }
 
     public List<Sala> salasDisponiveis() {
-        return repository.findAll();
+        return listarSalas(null, null, null, null, null).itens();
+    }
+
+
+    /**
+     * Salas em ordem de id, paginadas por chave: o cursor é o id da última sala da página anterior.
+     */
+    public Pagina<Sala> listarSalas(StatusDaSala status, String area, String localizacao, Long cursor, Integer tamanho) {
+        int limite = Pagina.tamanho(tamanho);
+        List<Sala> salas = repository.listar(status, area, localizacao, cursor, Limit.of(limite + 1));
+        return Pagina.de(salas, limite, sala -> String.valueOf(sala.getId()));
+    }
+
+
+    /**
+     * A listagem sem filtros no tamanho padrão sai do JSON já pronto, com ETag; um
+     * {@code If-None-Match} igual é respondido com 304 pelo Spring. As demais vão ao banco.
+     */
+    public ResponseEntity<?> listaDeSalas(StatusDaSala status, String area, String localizacao, Long cursor, Integer tamanho) {
+        if (status == null && area == null && localizacao == null && Pagina.tamanho(tamanho) == Pagina.TAMANHO_PADRAO) {
+            CatalogoSerializado.PaginaPronta pronta = catalogoSerializado.pagina(cursor);
+            if (pronta != null) {
+                return ResponseEntity.ok()
+                        .eTag(pronta.etag())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(pronta.json());
+            }
+        }
+        return ResponseEntity.ok(listarSalas(status, area, localizacao, cursor, tamanho));
     }
 
 
     public ResponseEntity<?> adicionarSala(Sala sala) {
         sala.setStatus(StatusDaSala.Disponivel);
         repository.save(sala);
+        catalogo.invalidar();
+        catalogoSerializado.invalidar();
+        cacheService.descartarSala(sala.getId());
         return ResponseEntity.ok("Sala adicionada com sucesso");
     }
 
     public ResponseEntity<?> removerSala(Long id) {
         repository.deleteById(id);
+        catalogo.invalidar();
+        catalogoSerializado.invalidar();
+        cacheService.descartarSala(id);
         return ResponseEntity.ok("Sala removida com sucesso");
     }
 
@@ -48,4 +102,42 @@ public class SalaService {
     }
 
 
+    public ResponseEntity<?> disponibilidade(Long id, LocalDate data) {
+        if (!repository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Sala não encontrada");
+        }
+
+        return ResponseEntity.ok(disponibilidade.intervalosLivres(id, data != null ? data : LocalDate.now()));
+    }
+
+
+    /**
+     * Salas livres em toda a janela {@code inicio}-{@code fim} do dia, com os filtros de
+     * capacidade, área e localização. Sem {@code fim}, a janela é a duração de uma reserva.
+     */
+    public ResponseEntity<?> buscarSalasLivres(LocalDate data, String inicio, String fim, Long capacidade, String area, String localizacao) {
+        LocalTime horaInicial;
+        LocalTime horaFinal;
+        try {
+            horaInicial = LocalTime.parse(inicio);
+            horaFinal = fim != null ? LocalTime.parse(fim) : horaInicial.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS);
+        } catch (DateTimeParseException | NullPointerException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Formato de horário inválido. Use HH:mm (ex: 14:00)");
+        }
+
+        int de = horaInicial.getHour() * 60 + horaInicial.getMinute();
+        int ate = horaFinal.equals(LocalTime.MIDNIGHT) ? DisponibilidadeDasSalas.MINUTOS_POR_DIA : horaFinal.getHour() * 60 + horaFinal.getMinute();
+        if (ate <= de) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("A janela deve terminar depois do início e no mesmo dia");
+        }
+
+        LocalDate dia = data != null ? data : LocalDate.now();
+        CatalogoDeSalas.Indice indice = catalogo.indice();
+        BitSet candidatas = indice.filtrar(capacidade != null ? capacidade : 0, area, localizacao);
+
+        BitSet livres = disponibilidade.livres(candidatas, indice.salaIds(), dia, de, ate);
+        return ResponseEntity.ok(livres.stream().mapToObj(indice::sala).toList());
+    }
+
+
 }
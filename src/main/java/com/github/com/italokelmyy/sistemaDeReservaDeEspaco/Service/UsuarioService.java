@@ -1,72 +1,161 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service;
 
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.FilaDeLogin;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.PapeisDosUsuarios;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtUtil;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.VersoesDosUsuarios;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 
 
 @Service
 public class UsuarioService implements UserDetailsService {
+    private static final String SENHA_FICTICIA = "senha-de-usuario-inexistente";
     private final UsuarioRepository repository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager manager;
     private final JwtUtil jwtUtil;
+    private final VersoesDosUsuarios versoesDosUsuarios;
+    private final FilaDeLogin filaDeLogin;
+    private final PapeisDosUsuarios papeisDosUsuarios;
+    private volatile String hashFicticio;
 
-    public UsuarioService(UsuarioRepository repository, @Lazy PasswordEncoder passwordEncoder, @Lazy AuthenticationManager manager, JwtUtil jwtUtil) {
+    public UsuarioService(UsuarioRepository repository, @Lazy PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                          VersoesDosUsuarios versoesDosUsuarios, FilaDeLogin filaDeLogin, PapeisDosUsuarios papeisDosUsuarios) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
-        this.manager = manager;
         this.jwtUtil = jwtUtil;
+        this.versoesDosUsuarios = versoesDosUsuarios;
+        this.filaDeLogin = filaDeLogin;
+        this.papeisDosUsuarios = papeisDosUsuarios;
     }
 
+    /**
+     * Um único insert: usuário e e-mail repetidos são barrados pelas restrições de
+     * unicidade da tabela, o que também vale para cadastros simultâneos. A senha é
+     * conferida antes, porque o hash é calculado antes do insert.
+     */
     public ResponseEntity<?> cadastro(Usuario usuario) {
-
-        if (repository.findByUsuario(usuario.getUsuario()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Usuário já cadastrado");
-        } else if (repository.findByEmail(usuario.getEmail()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("E-mail já cadastrado");
+        if (usuario.getSenha() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Senha é obrigatório");
         }
-
         usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
-        repository.save(usuario);
+        try {
+            repository.save(usuario);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(mensagemDeDuplicidade(e));
+        }
         return ResponseEntity.ok("Usuário cadastrado com sucesso");
     }
 
 
-    public ResponseEntity<?> login(Usuario usuario) {
-        manager.authenticate(new UsernamePasswordAuthenticationToken(usuario.getUsuario(), usuario.getSenha()));
+    public static String mensagemDeDuplicidade(DataIntegrityViolationException e) {
+        String restricao = e.getCause() instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                ? violacao.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+        return restricao.toLowerCase(Locale.ROOT).contains(Usuario.UNICO_EMAIL) ? "E-mail já cadastrado" : "Usuário já cadastrado";
+    }
+
+
+    /**
+     * O login roda na {@link FilaDeLogin}, fora das threads do Tomcat. Com a fila cheia
+     * a resposta é 503 com Retry-After. Um hash de senha com custo diferente do
+     * configurado é refeito depois que a senha confere.
+     */
+    public CompletableFuture<ResponseEntity<?>> login(Usuario usuario) {
+        try {
+            return filaDeLogin.submeter(() -> autenticar(usuario));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(filaDeLogin.retryAfterSegundos()))
+                    .body("Muitos logins ao mesmo tempo, tente novamente em instantes"));
+        }
+    }
+
 
+    /**
+     * Usuário inexistente e senha errada dão a mesma resposta, e o primeiro caso também
+     * confere a senha contra um hash fictício, para que nem o status nem o tempo de
+     * resposta revelem quais contas existem.
+     */
+    private ResponseEntity<?> autenticar(Usuario usuario) {
         Optional<Usuario> loginUsuario = repository.findByUsuario(usuario.getUsuario());
 
         if (loginUsuario.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não cadastrado");
+            passwordEncoder.matches(usuario.getSenha() != null ? usuario.getSenha() : "", hashFicticio());
+            return credenciaisInvalidas();
         }
 
 
         Usuario usuario1 = loginUsuario.get();
 
+        if (usuario.getSenha() == null || !passwordEncoder.matches(usuario.getSenha(), usuario1.getSenha())) {
+            return credenciaisInvalidas();
+        }
+
+        if (passwordEncoder.upgradeEncoding(usuario1.getSenha())) {
+            repository.atualizarSenha(usuario1.getId(), passwordEncoder.encode(usuario.getSenha()));
+        }
+
         UserDetails user = User.builder()
                 .username(usuario1.getUsuario())
                 .password(usuario1.getSenha())
-                .roles("USER")
+                .roles(papeisDosUsuarios.papeis(usuario1.getUsuario()))
                 .build();
 
 
 
-        return ResponseEntity.ok(jwtUtil.generadorDeKey(user));
+        return ResponseEntity.ok(jwtUtil.generadorDeKey(user, usuario1.getVersao()));
+    }
+
+
+    private static ResponseEntity<?> credenciaisInvalidas() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário ou senha inválidos");
+    }
+
+
+    /**
+     * Hash de uma senha que nenhum usuário tem, gerado com o custo configurado para que
+     * conferi-lo leve o mesmo tempo que conferir um hash real.
+     */
+    private String hashFicticio() {
+        String hash = hashFicticio;
+        if (hash == null) {
+            hash = passwordEncoder.encode(SENHA_FICTICIA);
+            hashFicticio = hash;
+        }
+        return hash;
+    }
+
+
+    /**
+     * Invalida todos os tokens já emitidos para o usuário: a versão dele sobe e os
+     * tokens com a versão anterior passam a ser recusados pelo filtro.
+     */
+    public ResponseEntity<?> revogarTokens(String usuario) {
+        if (repository.revogarTokens(usuario) == 0) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não cadastrado");
+        }
+
+        repository.findByUsuario(usuario)
+                .ifPresent(revogado -> versoesDosUsuarios.registrar(revogado.getUsuario(), revogado.getVersao()));
+        return ResponseEntity.ok("Tokens revogados, faça login novamente");
     }
 
 
@@ -79,7 +168,7 @@ public class UsuarioService implements UserDetailsService {
         return User.builder()
                 .username(usuario.getUsuario())
                 .password(usuario.getSenha())
-                .roles("USER")
+                .roles(papeisDosUsuarios.papeis(usuario.getUsuario()))
                 .build();
     }
 
@@ -4,8 +4,10 @@ package com.github.com.italokelmyy.sistemaDeReservaDeEspaco;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SistemaDeReservaDeEspacoApplication {
 
     public static void main(String[] args) {
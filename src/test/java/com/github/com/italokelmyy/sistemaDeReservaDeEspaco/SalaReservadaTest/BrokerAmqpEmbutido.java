@@ -0,0 +1,59 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import org.apache.qpid.server.SystemLauncher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Broker AMQP 0-9-1 (Qpid Broker-J) em memória, na mesma JVM, com o usuário guest/guest.
+ * Fala o mesmo protocolo do RabbitMQ, inclusive publisher confirms, o que basta para
+ * testar a publicação e medir vazão sem subir um RabbitMQ.
+ */
+public class BrokerAmqpEmbutido implements AutoCloseable {
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int porta;
+
+    private BrokerAmqpEmbutido(int porta) {
+        this.porta = porta;
+    }
+
+
+    public static BrokerAmqpEmbutido iniciar() throws Exception {
+        BrokerAmqpEmbutido broker = new BrokerAmqpEmbutido(portaLivre());
+        Path diretorio = Files.createTempDirectory("qpid-embutido");
+        broker.launcher.startup(Map.of(
+                "type", "Memory",
+                "initialConfigurationLocation", BrokerAmqpEmbutido.class.getResource("/qpid-embutido.json").toExternalForm(),
+                "startupLoggedToSystemOut", false,
+                "context", Map.of(
+                        "qpid.amqp_port", String.valueOf(broker.porta),
+                        "qpid.work_dir", diretorio.toString(),
+                        "qpid.home_dir", diretorio.toString())));
+        return broker;
+    }
+
+
+    public int porta() {
+        return porta;
+    }
+
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+
+
+    private static int portaLivre() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
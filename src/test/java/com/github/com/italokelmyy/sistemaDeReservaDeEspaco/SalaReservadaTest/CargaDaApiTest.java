@@ -0,0 +1,436 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Teste de carga da API: a aplicação inteira no perfil test, com o H2 e o broker AMQP
+ * embutido, e {@code carga.clientes} clientes em threads virtuais repetindo uma mistura
+ * de operações pela cadeia completa de filtros, segurança e controllers (MockMvc, sem o
+ * socket). Cada cliente é um usuário que faz login, lista salas, reserva (80% das vezes
+ * numa das salas quentes, o que gera disputa e conflitos) e cancela as próprias reservas.
+ * <p>
+ * Depois de {@code carga.aquecimento-s} segundos sem medir, mede por
+ * {@code carga.duracao-s} segundos a vazão, o p50/p99/p999 e a taxa de erros de cada
+ * endpoint, grava o resultado em {@code target/carga/} e falha se algum endpoint ficou
+ * abaixo da linha de base em {@code carga/linha-de-base.properties}. O 409 de uma
+ * reserva em conflito e o 404 da lista vazia são respostas esperadas, não erros.
+ * <p>
+ * Fica fora do build padrão: {@code ./mvnw test -Pcarga}.
+ */
+@Tag("carga")
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:carga", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+public class CargaDaApiTest {
+    private static final String SENHA = "Senha@Carga123";
+    private static final int SALAS = 50;
+    private static final int SALAS_QUENTES = 5;
+    private static final double RESERVAS_NAS_QUENTES = 0.8;
+    private static final int DIAS = 5;
+    private static final int HORARIOS = 59;
+
+    private static final BrokerAmqpEmbutido broker = iniciarBroker();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${carga.clientes:32}")
+    private int clientes;
+    @Value("${carga.aquecimento-s:5}")
+    private int aquecimentoS;
+    @Value("${carga.duracao-s:20}")
+    private int duracaoS;
+    @Value("${carga.tolerancia:0.3}")
+    private double tolerancia;
+    @Value("${carga.linha-de-base:carga/linha-de-base.properties}")
+    private String linhaDeBase;
+
+    private List<Long> salaIds;
+
+
+    @DynamicPropertySource
+    static void rabbitmq(DynamicPropertyRegistry registry) {
+        registry.add("spring.rabbitmq.host", () -> "localhost");
+        registry.add("spring.rabbitmq.port", broker::porta);
+    }
+
+
+    @AfterAll
+    static void pararBroker() {
+        broker.close();
+    }
+
+
+    @Test
+    void mistaDeOperacoesDentroDaLinhaDeBase() throws Exception {
+        preparar();
+
+        long inicioDaMedicao = System.nanoTime() + aquecimentoS * 1_000_000_000L;
+        long fim = inicioDaMedicao + duracaoS * 1_000_000_000L;
+        List<Cliente> todos = new ArrayList<>(clientes);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> execucoes = new ArrayList<>(clientes);
+            for (int i = 0; i < clientes; i++) {
+                Cliente cliente = new Cliente(i, inicioDaMedicao, fim);
+                todos.add(cliente);
+                execucoes.add(executor.submit(() -> {
+                    cliente.executar();
+                    return null;
+                }));
+            }
+            for (Future<?> execucao : execucoes) {
+                execucao.get();
+            }
+        }
+
+        Map<Endpoint, Resultado> resultados = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            resultados.put(endpoint, Resultado.de(todos.stream().map(cliente -> cliente.amostras.get(endpoint)).toList(), duracaoS));
+        }
+        registrar(resultados);
+
+        List<String> regressoes = comparar(resultados, carregarLinhaDeBase());
+        Assertions.assertTrue(regressoes.isEmpty(), "Abaixo da linha de base:\n" + String.join("\n", regressoes));
+    }
+
+
+    private void preparar() {
+        List<Sala> salas = new ArrayList<>(SALAS);
+        for (int i = 0; i < SALAS; i++) {
+            salas.add(new Sala(null, i < SALAS_QUENTES ? "Auditório" : "Reuniões", "carga-" + i, 10L + i, "Bloco " + (char) ('A' + i % 4)));
+        }
+        salaIds = salasRepository.saveAll(salas).stream().map(Sala::getId).toList();
+
+        String hash = passwordEncoder.encode(SENHA);
+        List<Usuario> usuarios = new ArrayList<>(clientes);
+        for (int i = 0; i < clientes; i++) {
+            usuarios.add(new Usuario(null, "carga" + i, hash, "carga" + i + "@carga.com"));
+        }
+        usuarioRepository.saveAll(usuarios);
+    }
+
+
+    private void registrar(Map<Endpoint, Resultado> resultados) throws IOException {
+        StringBuilder tabela = new StringBuilder(String.format(Locale.ROOT, "%n%-26s %9s %9s %9s %9s %9s %8s %8s%n",
+                "endpoint", "req", "req/s", "p50 ms", "p99 ms", "p999 ms", "erros", "409/404"));
+        Properties medido = new Properties();
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        for (Map.Entry<Endpoint, Resultado> entrada : resultados.entrySet()) {
+            Endpoint endpoint = entrada.getKey();
+            Resultado resultado = entrada.getValue();
+            tabela.append(String.format(Locale.ROOT, "%-26s %9d %9.1f %9.2f %9.2f %9.2f %7.2f%% %7.2f%%%n", endpoint.descricao,
+                    resultado.requisicoes, resultado.vazao, resultado.p50Ms, resultado.p99Ms, resultado.p999Ms,
+                    resultado.taxaDeErros * 100, resultado.taxaDeRecusas * 100));
+            medido.setProperty(endpoint.chave + ".vazao", String.format(Locale.ROOT, "%.1f", resultado.vazao));
+            medido.setProperty(endpoint.chave + ".p99-ms", String.format(Locale.ROOT, "%.2f", resultado.p99Ms));
+            medido.setProperty(endpoint.chave + ".erros", String.format(Locale.ROOT, "%.4f", resultado.taxaDeErros));
+            relatorio.put(endpoint.descricao, resultado);
+        }
+        System.out.println(tabela);
+
+        Path diretorio = Path.of("target", "carga");
+        Files.createDirectories(diretorio);
+        Map<String, Object> execucao = new LinkedHashMap<>();
+        execucao.put("clientes", clientes);
+        execucao.put("duracaoS", duracaoS);
+        execucao.put("endpoints", relatorio);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(diretorio.resolve("relatorio.json").toFile(), execucao);
+        try (Writer saida = Files.newBufferedWriter(diretorio.resolve("medido.properties"), StandardCharsets.UTF_8)) {
+            medido.store(saida, clientes + " clientes por " + duracaoS + " s; copie para src/test/resources/" + linhaDeBase + " para mudar a linha de base");
+        }
+    }
+
+
+    private Properties carregarLinhaDeBase() throws IOException {
+        Properties base = new Properties();
+        try (InputStream entrada = getClass().getClassLoader().getResourceAsStream(linhaDeBase)) {
+            Assertions.assertNotNull(entrada, "Linha de base não encontrada: " + linhaDeBase);
+            base.load(entrada);
+        }
+        return base;
+    }
+
+
+    /**
+     * Vazão menor que a base menos a tolerância, p99 maior que a base mais a tolerância
+     * ou taxa de erros acima da base são regressões. Endpoint sem valor na base não é
+     * comparado naquele quesito.
+     */
+    private List<String> comparar(Map<Endpoint, Resultado> resultados, Properties base) {
+        List<String> regressoes = new ArrayList<>();
+        for (Map.Entry<Endpoint, Resultado> entrada : resultados.entrySet()) {
+            String chave = entrada.getKey().chave;
+            Resultado resultado = entrada.getValue();
+            String vazao = base.getProperty(chave + ".vazao");
+            if (vazao != null && resultado.vazao < Double.parseDouble(vazao) * (1 - tolerancia)) {
+                regressoes.add(String.format(Locale.ROOT, "%s: vazão %.1f req/s, base %s", chave, resultado.vazao, vazao));
+            }
+            String p99 = base.getProperty(chave + ".p99-ms");
+            if (p99 != null && resultado.p99Ms > Double.parseDouble(p99) * (1 + tolerancia)) {
+                regressoes.add(String.format(Locale.ROOT, "%s: p99 %.2f ms, base %s ms", chave, resultado.p99Ms, p99));
+            }
+            String erros = base.getProperty(chave + ".erros");
+            if (erros != null && resultado.taxaDeErros > Double.parseDouble(erros)) {
+                regressoes.add(String.format(Locale.ROOT, "%s: %.2f%% de erros, base %s", chave, resultado.taxaDeErros * 100, erros));
+            }
+        }
+        return regressoes;
+    }
+
+
+    private static BrokerAmqpEmbutido iniciarBroker() {
+        try {
+            return BrokerAmqpEmbutido.iniciar();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    enum Endpoint {
+        LOGIN("login", "POST /usuario/login", 0),
+        LISTA_DE_SALAS("sala-lista", "GET /sala/lista", 0),
+        RESERVA("reserva-adicionar", "POST /reserva/adicionar", 409),
+        MINHAS_RESERVAS("reserva-lista", "GET /reserva/lista", 404),
+        CANCELAMENTO("reserva-cancelar", "GET /reserva/deleteById", 0),
+        ;
+
+        private final String chave;
+        private final String descricao;
+        /**
+         * Status fora de 2xx que faz parte do uso normal: o conflito de horário da reserva
+         * e a lista vazia de quem não tem reservas.
+         */
+        private final int recusaEsperada;
+
+        Endpoint(String chave, String descricao, int recusaEsperada) {
+            this.chave = chave;
+            this.descricao = descricao;
+            this.recusaEsperada = recusaEsperada;
+        }
+    }
+
+
+    /**
+     * Um usuário repetindo a mistura: 2% login, 43% lista de salas, 35% reserva e 20%
+     * cancelamento (a lista das próprias reservas seguida da remoção da primeira).
+     */
+    private final class Cliente {
+        private final String usuario;
+        private final SplittableRandom random;
+        private final long inicioDaMedicao;
+        private final long fim;
+        private final Map<Endpoint, Amostras> amostras = new EnumMap<>(Endpoint.class);
+        private String token;
+
+        private Cliente(int indice, long inicioDaMedicao, long fim) {
+            this.usuario = "carga" + indice;
+            this.random = new SplittableRandom(indice);
+            this.inicioDaMedicao = inicioDaMedicao;
+            this.fim = fim;
+            for (Endpoint endpoint : Endpoint.values()) {
+                amostras.put(endpoint, new Amostras(endpoint.recusaEsperada));
+            }
+        }
+
+
+        private void executar() throws Exception {
+            entrar();
+            while (System.nanoTime() < fim) {
+                int sorteio = random.nextInt(100);
+                if (sorteio < 2) {
+                    entrar();
+                } else if (sorteio < 45) {
+                    executar(Endpoint.LISTA_DE_SALAS, get("/sala/lista").param("tamanho", "20"));
+                } else if (sorteio < 80) {
+                    reservar();
+                } else {
+                    cancelar();
+                }
+            }
+        }
+
+
+        private void entrar() throws Exception {
+            String corpo = objectMapper.writeValueAsString(Map.of("usuario", usuario, "senha", SENHA));
+            MockHttpServletResponse resposta = executar(Endpoint.LOGIN, post("/usuario/login").contentType(MediaType.APPLICATION_JSON).content(corpo));
+            if (resposta != null && resposta.getStatus() == 200) {
+                token = resposta.getContentAsString();
+            }
+        }
+
+
+        private void reservar() throws Exception {
+            int sala = random.nextDouble() < RESERVAS_NAS_QUENTES ? random.nextInt(SALAS_QUENTES) : random.nextInt(SALAS_QUENTES, SALAS);
+            Map<String, Object> pedido = new LinkedHashMap<>();
+            pedido.put("id", salaIds.get(sala));
+            pedido.put("responsavel_pela_sala", usuario);
+            pedido.put("data", LocalDate.now().plusDays(1 + random.nextInt(DIAS)).toString());
+            pedido.put("horarioAgendado", LocalTime.of(7, 0).plusMinutes(15L * random.nextInt(HORARIOS)).toString());
+            executar(Endpoint.RESERVA, autenticado(post("/reserva/adicionar").contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pedido))));
+        }
+
+
+        private void cancelar() throws Exception {
+            MockHttpServletResponse resposta = executar(Endpoint.MINHAS_RESERVAS, get("/reserva/lista")
+                    .param("responsavel", usuario).param("tamanho", "1"));
+            if (resposta == null || resposta.getStatus() != 200) {
+                return;
+            }
+            JsonNode itens = objectMapper.readTree(resposta.getContentAsString()).path("itens");
+            if (!itens.isEmpty()) {
+                executar(Endpoint.CANCELAMENTO, autenticado(get("/reserva/deleteById/" + itens.get(0).path("id").asLong())));
+            }
+        }
+
+
+        private MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder requisicao) {
+            return token == null ? requisicao : requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+
+
+        /**
+         * Executa a requisição, com o despacho assíncrono quando o controller devolve um
+         * CompletableFuture, e registra o tempo se já passou o aquecimento. Devolve
+         * {@code null} quando a requisição lançou uma exceção.
+         */
+        private MockHttpServletResponse executar(Endpoint endpoint, MockHttpServletRequestBuilder requisicao) {
+            long inicio = System.nanoTime();
+            MockHttpServletResponse resposta;
+            try {
+                MvcResult resultado = mockMvc.perform(requisicao.secure(true)).andReturn();
+                if (resultado.getRequest().isAsyncStarted()) {
+                    resultado = mockMvc.perform(asyncDispatch(resultado)).andReturn();
+                }
+                resposta = resultado.getResponse();
+            } catch (Exception e) {
+                resposta = null;
+            }
+            long tempo = System.nanoTime() - inicio;
+
+            if (inicio >= inicioDaMedicao && inicio < fim) {
+                int status = resposta == null ? 0 : resposta.getStatus();
+                amostras.get(endpoint).adicionar(tempo, status);
+            }
+            return resposta;
+        }
+    }
+
+
+    /**
+     * Tempos de um cliente num endpoint, em nanossegundos, e a contagem de respostas.
+     */
+    private static final class Amostras {
+        private final int recusaEsperada;
+        private long[] tempos = new long[1024];
+        private int quantidade;
+        private long erros;
+        private long recusas;
+
+        private Amostras(int recusaEsperada) {
+            this.recusaEsperada = recusaEsperada;
+        }
+
+
+        private void adicionar(long tempo, int status) {
+            if (quantidade == tempos.length) {
+                tempos = Arrays.copyOf(tempos, quantidade * 2);
+            }
+            tempos[quantidade++] = tempo;
+            if (status == recusaEsperada) {
+                recusas++;
+            } else if (status < 200 || status >= 300) {
+                erros++;
+            }
+        }
+    }
+
+
+    record Resultado(long requisicoes, double vazao, double p50Ms, double p99Ms, double p999Ms, double taxaDeErros, double taxaDeRecusas) {
+
+        static Resultado de(List<Amostras> porCliente, int duracaoS) {
+            long[] tempos = new long[porCliente.stream().mapToInt(amostras -> amostras.quantidade).sum()];
+            int posicao = 0;
+            long erros = 0;
+            long recusas = 0;
+            for (Amostras amostras : porCliente) {
+                System.arraycopy(amostras.tempos, 0, tempos, posicao, amostras.quantidade);
+                posicao += amostras.quantidade;
+                erros += amostras.erros;
+                recusas += amostras.recusas;
+            }
+            Arrays.sort(tempos);
+            long total = tempos.length;
+            return new Resultado(total, (double) total / duracaoS, percentil(tempos, 0.50), percentil(tempos, 0.99), percentil(tempos, 0.999),
+                    total == 0 ? 0 : (double) erros / total, total == 0 ? 0 : (double) recusas / total);
+        }
+
+
+        private static double percentil(long[] ordenados, double percentil) {
+            if (ordenados.length == 0) {
+                return 0;
+            }
+            int posicao = (int) Math.ceil(percentil * ordenados.length) - 1;
+            return ordenados[Math.max(posicao, 0)] / 1_000_000.0;
+        }
+    }
+}
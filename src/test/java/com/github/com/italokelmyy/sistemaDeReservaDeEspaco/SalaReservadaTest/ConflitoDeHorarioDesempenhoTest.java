@@ -0,0 +1,130 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * O conflito como a reserva o detecta, pela chave única dos slots ocupados, comparado
+ * com a varredura de todas as reservas da sala que ele substituiu.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conflito")
+@ActiveProfiles("test")
+public class ConflitoDeHorarioDesempenhoTest {
+    private static final int DIAS = 100;
+    private static final int RESERVAS_POR_DIA = 20;
+    private static final int CONSULTAS = 50;
+
+    @Autowired
+    private SalaResevadaRepository resevadaRepository;
+    @Autowired
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private SalaReservadaService service;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long salaId;
+
+
+    @AfterEach
+    void limpar() {
+        horarioOcupadoRepository.deleteAllInBatch();
+        resevadaRepository.deleteAllInBatch();
+        salasRepository.deleteAll();
+    }
+
+
+    @Test
+    void chaveDosSlotsEquivaleAVarredura() {
+        Sala sala = new Sala();
+        sala.setCodigo("sala-carga");
+        sala.setStatus(StatusDaSala.Disponivel);
+        salaId = salasRepository.save(sala).getId();
+
+        LocalDate primeiroDia = LocalDate.of(2025, 1, 1);
+        List<SalaResevada> reservas = new ArrayList<>();
+        for (int dia = 0; dia < DIAS; dia++) {
+            for (int i = 0; i < RESERVAS_POR_DIA; i++) {
+                LocalDateTime inicio = LocalDateTime.of(primeiroDia.plusDays(dia), LocalTime.of(7, 0)).plusMinutes(40L * i);
+                SalaResevada reserva = new SalaResevada();
+                reserva.setSalaId(salaId);
+                reserva.setResponsavel_pela_sala("carga");
+                reserva.setCodigo_da_sala("sala-carga");
+                reserva.setHorarioAgendado(inicio.toLocalTime().toString());
+                reserva.setData(inicio.toLocalDate());
+                reserva.setInicio(inicio);
+                reserva.setFim(inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+                reserva.setStatus(StatusDaSala.Ocupada);
+                reservas.add(reserva);
+            }
+        }
+        resevadaRepository.saveAll(reservas);
+        List<HorarioOcupado> slots = new ArrayList<>(reservas.size() * HorarioOcupado.SLOTS_POR_RESERVA);
+        reservas.forEach(reserva -> slots.addAll(HorarioOcupado.daReserva(reserva)));
+        horarioOcupadoRepository.saveAll(slots);
+
+        List<LocalDateTime> candidatos = new ArrayList<>();
+        for (int i = 0; i < CONSULTAS; i++) {
+            candidatos.add(LocalDateTime.of(primeiroDia.plusDays(i % DIAS), LocalTime.of(7, 0)).plusMinutes(HorarioOcupado.MINUTOS_POR_SLOT * (7L * i % 60)));
+        }
+
+        long inicioVarredura = System.nanoTime();
+        List<Boolean> resultadoVarredura = new ArrayList<>();
+        for (LocalDateTime candidato : candidatos) {
+            resultadoVarredura.add(conflitoPorVarredura(candidato));
+        }
+        long tempoVarredura = System.nanoTime() - inicioVarredura;
+
+        long inicioReserva = System.nanoTime();
+        List<Boolean> resultadoReserva = new ArrayList<>();
+        for (LocalDateTime candidato : candidatos) {
+            HttpStatus status = HttpStatus.valueOf(service.reservaSala(salaId, "carga", candidato.toLocalDate(),
+                    candidato.toLocalTime().toString()).getStatusCode().value());
+            resultadoReserva.add(status == HttpStatus.CONFLICT);
+        }
+        long tempoReserva = System.nanoTime() - inicioReserva;
+
+        System.out.printf("Conflito com %d reservas na sala: varredura da sala %d ms, reserva pelos slots %d ms (%d tentativas)%n",
+                reservas.size(), tempoVarredura / 1_000_000, tempoReserva / 1_000_000, CONSULTAS);
+
+        Assertions.assertEquals(resultadoVarredura, resultadoReserva);
+        Assertions.assertTrue(resultadoReserva.contains(true));
+        Assertions.assertTrue(resultadoReserva.contains(false));
+    }
+
+
+    private boolean conflitoPorVarredura(LocalDateTime candidato) {
+        List<SalaResevada> daSala = entityManager.createQuery("select r from SalaResevada r where r.salaId = :salaId", SalaResevada.class)
+                .setParameter("salaId", salaId)
+                .getResultList();
+        for (SalaResevada reserva : daSala) {
+            if (Duration.between(reserva.getInicio(), candidato).abs().toMinutes() < SalaResevada.DURACAO_EM_MINUTOS) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
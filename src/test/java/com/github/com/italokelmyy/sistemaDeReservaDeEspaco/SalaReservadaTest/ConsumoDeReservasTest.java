@@ -0,0 +1,105 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Listener em lotes consumindo do broker AMQP embutido, com eventos repetidos como os
+ * que o relay reenvia depois de uma falha de confirmação.
+ */
+@SpringBootTest(properties = {
+        "spring.rabbitmq.listener.simple.batch-size=20",
+        "spring.rabbitmq.listener.simple.prefetch=100",
+        "spring.rabbitmq.listener.simple.concurrency=2"})
+@ActiveProfiles("test")
+@DirtiesContext
+public class ConsumoDeReservasTest {
+    private static final int RESERVAS = 200;
+
+    private static final BrokerAmqpEmbutido broker = iniciarBroker();
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+
+    @DynamicPropertySource
+    static void rabbitmq(DynamicPropertyRegistry registry) {
+        registry.add("spring.rabbitmq.host", () -> "localhost");
+        registry.add("spring.rabbitmq.port", broker::porta);
+    }
+
+
+    @AfterAll
+    static void pararBroker() {
+        broker.close();
+    }
+
+
+    @Test
+    void processaCadaReservaUmaVezMesmoComEventosRepetidos() throws Exception {
+        for (long id = 1; id <= RESERVAS; id++) {
+            rabbitTemplate.convertAndSend(RabbitMqConfig.SALARESERVADA, reserva(id));
+            if (id % 4 == 0) {
+                rabbitTemplate.convertAndSend(RabbitMqConfig.SALARESERVADA, reserva(id));
+            }
+        }
+
+
+        long prazo = System.currentTimeMillis() + 10_000;
+        while ((mensagensNaFila() > 0 || contador("reservas.eventos.consumidos") + contador("reservas.eventos.duplicados") < RESERVAS * 5 / 4)
+                && System.currentTimeMillis() < prazo) {
+            Thread.sleep(20);
+        }
+
+
+        Assertions.assertEquals(RESERVAS, contador("reservas.eventos.consumidos"));
+        Assertions.assertEquals(RESERVAS / 4, contador("reservas.eventos.duplicados"));
+        Assertions.assertEquals(0, mensagensNaFila());
+        Assertions.assertTrue(meterRegistry.get("reservas.eventos.lote").summary().max() > 1);
+    }
+
+
+    private long contador(String nome) {
+        return (long) meterRegistry.get(nome).counter().count();
+    }
+
+
+    private int mensagensNaFila() {
+        return ((Number) amqpAdmin.getQueueProperties(RabbitMqConfig.SALARESERVADA).get(RabbitAdmin.QUEUE_MESSAGE_COUNT)).intValue();
+    }
+
+
+    private static SalaResevada reserva(long id) {
+        SalaResevada reserva = new SalaResevada();
+        reserva.setId(id);
+        reserva.setSalaId(id % 10);
+        reserva.setCodigo_da_sala("sala-" + id % 10);
+        return reserva;
+    }
+
+
+    private static BrokerAmqpEmbutido iniciarBroker() {
+        try {
+            return BrokerAmqpEmbutido.iniciar();
+        } catch (Exception e) {
+            throw new IllegalStateException("Não foi possível iniciar o broker AMQP embutido", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Controller.SalaReservadaController;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.ExportacaoDeReservasService;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.ReservaRecorrenteService;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+public class ExportacaoDeReservasTest {
+    private static final int TAMANHO_DO_LOTE = 2;
+    private static final Duration TEMPO_MAXIMO = Duration.ofHours(1);
+
+    @Mock
+    private SalaResevadaRepository resevadaRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private ExportacaoDeReservasService service;
+
+    @BeforeEach
+    void test_down() {
+        MockitoAnnotations.openMocks(this);
+        service = new ExportacaoDeReservasService(resevadaRepository, entityManager, objectMapper, transactionManager, TAMANHO_DO_LOTE, TEMPO_MAXIMO);
+    }
+
+
+    @Test
+    void exportaUmaReservaPorLinhaELimpaOContextoACadaLote() throws Exception {
+
+        AtomicBoolean fechado = new AtomicBoolean();
+        Mockito.when(resevadaRepository.exportarTodas()).thenReturn(LongStream.rangeClosed(1, 5)
+                .mapToObj(this::reserva)
+                .onClose(() -> fechado.set(true)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+
+        service.exportar().writeTo(saida);
+
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(5, linhas.length);
+        Assertions.assertEquals(3L, objectMapper.readTree(linhas[2]).get("id").asLong());
+        Assertions.assertEquals("2025-03-10T09:03:00", objectMapper.readTree(linhas[2]).get("inicio").asText());
+        Assertions.assertTrue(fechado.get());
+        Mockito.verify(entityManager, Mockito.times(5 / TAMANHO_DO_LOTE)).clear();
+        Mockito.verify(resevadaRepository, Mockito.never()).findAll();
+    }
+
+
+    @Test
+    void exportacaoUsaOPrazoProprioEmVezDoPadrao() throws Exception {
+        Mockito.when(resevadaRepository.exportarTodas()).thenReturn(Stream.empty());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SalaReservadaController(
+                Mockito.mock(SalaReservadaService.class), Mockito.mock(ReservaRecorrenteService.class), service)).build();
+
+
+        MvcResult resultado = mockMvc.perform(get("/reserva/export")).andReturn();
+
+
+        Assertions.assertTrue(resultado.getRequest().isAsyncStarted());
+        Assertions.assertEquals(TEMPO_MAXIMO.toMillis(), resultado.getRequest().getAsyncContext().getTimeout());
+    }
+
+
+    private SalaResevada reserva(long id) {
+        SalaResevada reserva = new SalaResevada(1L, "teste1", "sala-01", "09:00");
+        reserva.setId(id);
+        reserva.setInicio(LocalDateTime.of(2025, 3, 10, 9, 0).plusMinutes(id));
+        return reserva;
+    }
+}
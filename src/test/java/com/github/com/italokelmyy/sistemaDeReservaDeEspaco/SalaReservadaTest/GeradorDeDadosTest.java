@@ -0,0 +1,83 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * O perfil gerador num H2 pequeno: volumes exatos, reservas sem sobreposição, a
+ * concentração nas salas quentes e nos horários de pico, e a aplicação continuando a
+ * gravar reservas depois dos ids gerados.
+ */
+@SpringBootTest(properties = {"gerador.salas=40", "gerador.usuarios=120", "gerador.reservas=6000", "gerador.lote=500",
+        "gerador.threads=4", "gerador.encerrar=false", "gerador.prefixo=teste", "spring.datasource.url=jdbc:h2:mem:gerador"})
+@ActiveProfiles({"test", "gerador"})
+public class GeradorDeDadosTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SalaResevadaRepository resevadaRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+
+    @Test
+    void geraOsVolumesPedidosSemSobreposicao() {
+        Assertions.assertEquals(40, contar("select count(*) from sala where codigo like 'teste-sala-%'"));
+        Assertions.assertEquals(120, contar("select count(*) from usuario where usuario like 'teste\\_%'"));
+        Assertions.assertEquals(6000, contar("select count(*) from salareservada where codigo_da_sala like 'teste-sala-%'"));
+        Assertions.assertEquals(6000L * HorarioOcupado.SLOTS_POR_RESERVA, contar("select count(*) from faixaocupada"));
+        Assertions.assertEquals(6000, contar("select count(distinct reserva_id) from faixaocupada"));
+        Assertions.assertEquals(0, contar("""
+                select count(*) from salareservada a join salareservada b
+                on a.sala_id = b.sala_id and a.id < b.id and a.inicio < b.fim and b.inicio < a.fim"""));
+    }
+
+
+    @Test
+    void concentraAsReservasNasSalasQuentesENosPicos() {
+        List<Long> porSala = jdbcTemplate.queryForList("select count(*) from salareservada group by sala_id order by count(*) desc", Long.class);
+        Assertions.assertEquals(3600, porSala.subList(0, 4).stream().mapToLong(Long::longValue).sum());
+
+        long nosPicos = contar("select count(*) from salareservada where extract(hour from inicio) in (9, 10, 14, 15)");
+        Assertions.assertTrue(nosPicos > 6000 * 0.4, "Reservas nos picos: " + nosPicos);
+
+        long nosDomingos = contar("select count(*) from salareservada where iso_day_of_week(data) = 7");
+        Assertions.assertTrue(nosDomingos < 6000 * 0.05, "Reservas aos domingos: " + nosDomingos);
+    }
+
+
+    @Test
+    void usuariosGeradosEntramComASenhaConfiguradaESequenciaSegueDepoisDosIds() {
+        String hash = usuarioRepository.findByUsuario("teste_0").orElseThrow().getSenha();
+        Assertions.assertTrue(passwordEncoder.matches("Senha@Gerada123", hash));
+
+        long maiorId = contar("select max(id) from salareservada");
+        SalaResevada reserva = new SalaResevada(1L, "depois-do-gerador", "teste-sala-0", "07:00");
+        reserva.setData(LocalDate.of(2000, 1, 1));
+        reserva.setInicio(LocalDateTime.of(2000, 1, 1, 7, 0));
+        reserva.setFim(reserva.getInicio().plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+        Assertions.assertTrue(resevadaRepository.save(reserva).getId() > maiorId);
+        resevadaRepository.delete(reserva);
+    }
+
+
+    private long contar(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
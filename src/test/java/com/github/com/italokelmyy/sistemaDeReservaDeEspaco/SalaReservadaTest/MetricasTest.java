@@ -0,0 +1,112 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Endpoints do actuator: o health é público (é o que o HEALTHCHECK do Dockerfile chama)
+ * e o scrape do Prometheus, só com a credencial do scraper, traz as métricas da reserva
+ * e do pool de conexões.
+ */
+@SpringBootTest(properties = {"management.health.rabbit.enabled=false", "spring.rabbitmq.listener.simple.auto-startup=false",
+        "seguranca.metricas.senha=senha-do-scraper"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SalaReservadaService service;
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private SalaResevadaRepository resevadaRepository;
+    @Autowired
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+
+
+    @AfterEach
+    void limpar() {
+        horarioOcupadoRepository.deleteAll();
+        resevadaRepository.deleteAll();
+        salasRepository.deleteAll();
+    }
+
+
+    @Test
+    void healthNaoPedeAutenticacao() throws Exception {
+        int status = mockMvc.perform(get("/actuator/health").secure(true)).andReturn().getResponse().getStatus();
+
+
+        Assertions.assertEquals(200, status);
+    }
+
+
+    @Test
+    void prometheusPedeAutenticacao() throws Exception {
+        int status = mockMvc.perform(get("/actuator/prometheus").secure(true)).andReturn().getResponse().getStatus();
+
+
+        Assertions.assertEquals(401, status);
+    }
+
+
+    @Test
+    @WithMockUser
+    void usuarioDaAplicacaoNaoLeAsMetricas() throws Exception {
+        int prometheus = mockMvc.perform(get("/actuator/prometheus").secure(true)).andReturn().getResponse().getStatus();
+        int metrics = mockMvc.perform(get("/actuator/metrics").secure(true)).andReturn().getResponse().getStatus();
+
+
+        Assertions.assertEquals(403, prometheus);
+        Assertions.assertEquals(403, metrics);
+    }
+
+
+    @Test
+    void senhaErradaDoScraperEhRecusada() throws Exception {
+        int status = mockMvc.perform(get("/actuator/prometheus").secure(true)
+                .with(SecurityMockMvcRequestPostProcessors.httpBasic("prometheus", "outra-senha"))).andReturn().getResponse().getStatus();
+
+
+        Assertions.assertEquals(401, status);
+    }
+
+
+    @Test
+    void prometheusExportaAsMetricasDaReserva() throws Exception {
+        Long salaId = salasRepository.save(new Sala(null, "Tecnologia", "sala-metricas", 20L, "Primeiro andar")).getId();
+        service.reservaSala(salaId, "ana", LocalDate.of(2025, 6, 2), "10:00");
+        service.reservaSala(salaId, "bruno", LocalDate.of(2025, 6, 2), "10:15");
+
+
+        String corpo = mockMvc.perform(get("/actuator/prometheus").secure(true)
+                .with(SecurityMockMvcRequestPostProcessors.httpBasic("prometheus", "senha-do-scraper"))).andReturn().getResponse().getContentAsString();
+
+
+        Assertions.assertTrue(corpo.contains("reservas_reservar_seconds_bucket"));
+        Assertions.assertTrue(corpo.contains("reservas_reservar_fase_seconds_bucket{fase=\"conflito\""));
+        Assertions.assertTrue(corpo.contains("reservas_conflitos_total{origem=\"avulsa\"} 1.0"));
+        Assertions.assertTrue(corpo.contains("hikaricp_connections_active"));
+    }
+}
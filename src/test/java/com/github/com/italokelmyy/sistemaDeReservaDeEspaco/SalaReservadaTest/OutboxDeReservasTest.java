@@ -0,0 +1,136 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.EventoDeReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.EventoDeReservaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reservas, outbox e relay de ponta a ponta, com o H2 e um broker AMQP embutido.
+ */
+@SpringBootTest(properties = {"eventos.reserva.relay-ms=50", "spring.rabbitmq.listener.simple.auto-startup=false"})
+@ActiveProfiles("test")
+@DirtiesContext
+public class OutboxDeReservasTest {
+    private static final LocalDate DATA = LocalDate.of(2025, 6, 2);
+
+    private static final BrokerAmqpEmbutido broker = iniciarBroker();
+
+    @Autowired
+    private SalaReservadaService service;
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private SalaResevadaRepository resevadaRepository;
+    @Autowired
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+    @Autowired
+    private EventoDeReservaRepository eventoDeReservaRepository;
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+
+    @DynamicPropertySource
+    static void rabbitmq(DynamicPropertyRegistry registry) {
+        registry.add("spring.rabbitmq.host", () -> "localhost");
+        registry.add("spring.rabbitmq.port", broker::porta);
+    }
+
+
+    @AfterAll
+    static void pararBroker() {
+        broker.close();
+    }
+
+
+    @AfterEach
+    void limpar() {
+        horarioOcupadoRepository.deleteAll();
+        resevadaRepository.deleteAll();
+        salasRepository.deleteAll();
+        eventoDeReservaRepository.deleteAll();
+        amqpAdmin.purgeQueue(RabbitMqConfig.SALARESERVADA, false);
+    }
+
+
+    @Test
+    void reservaRecusadaNaoDeixaEventoNoOutbox() {
+        Long salaId = salasRepository.save(new Sala(null, "Tecnologia", "sala-outbox", 20L, "Primeiro andar")).getId();
+
+
+        Assertions.assertEquals(HttpStatus.OK, service.reservaSala(salaId, "ana", DATA, "10:00").getStatusCode());
+        Assertions.assertEquals(HttpStatus.CONFLICT, service.reservaSala(salaId, "bruno", DATA, "10:15").getStatusCode());
+
+
+        List<EventoDeReserva> eventos = eventoDeReservaRepository.findAll();
+        Assertions.assertEquals(1, eventos.size());
+        Assertions.assertEquals(resevadaRepository.findAll().getFirst().getId(), eventos.getFirst().getReservaId());
+    }
+
+
+    @Test
+    void relayEntregaTodasAsReservasAoBroker() throws Exception {
+        Long salaId = salasRepository.save(new Sala(null, "Tecnologia", "sala-outbox", 20L, "Primeiro andar")).getId();
+        List<SalaResevada> pedidos = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            SalaResevada pedido = new SalaResevada(salaId, "carga", null, LocalTime.of(i, 0).toString());
+            pedido.setData(DATA);
+            pedidos.add(pedido);
+        }
+
+
+        Assertions.assertEquals(HttpStatus.OK, service.reservarEmLote(pedidos).getStatusCode());
+
+
+        long prazo = System.currentTimeMillis() + 10_000;
+        while (eventoDeReservaRepository.contarPendentes() > 0 && System.currentTimeMillis() < prazo) {
+            Thread.sleep(20);
+        }
+        Assertions.assertEquals(0, eventoDeReservaRepository.contarPendentes());
+        Assertions.assertEquals(24, mensagensNaFila());
+
+        SalaResevada recebida = (SalaResevada) rabbitTemplate.receiveAndConvert(RabbitMqConfig.SALARESERVADA);
+        Assertions.assertEquals(salaId, recebida.getSalaId());
+        Assertions.assertEquals(DATA.atTime(0, 0), recebida.getInicio());
+    }
+
+
+    private int mensagensNaFila() {
+        return ((Number) amqpAdmin.getQueueProperties(RabbitMqConfig.SALARESERVADA).get(RabbitAdmin.QUEUE_MESSAGE_COUNT)).intValue();
+    }
+
+
+    private static BrokerAmqpEmbutido iniciarBroker() {
+        try {
+            return BrokerAmqpEmbutido.iniciar();
+        } catch (Exception e) {
+            throw new IllegalStateException("Não foi possível iniciar o broker AMQP embutido", e);
+        }
+    }
+}
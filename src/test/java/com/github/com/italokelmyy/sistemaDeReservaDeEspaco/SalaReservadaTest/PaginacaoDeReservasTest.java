@@ -0,0 +1,76 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A listagem paginada contra o banco: reservas gravadas antes de {@code inicio} existir
+ * entram na ordem e não quebram o cursor.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:paginacao")
+@ActiveProfiles("test")
+public class PaginacaoDeReservasTest {
+
+    @Autowired
+    private SalaResevadaRepository resevadaRepository;
+    @Autowired
+    private SalaReservadaService service;
+
+
+    @AfterEach
+    void limpar() {
+        resevadaRepository.deleteAll();
+    }
+
+
+    @Test
+    void percorreAsReservasSemInicioAntesDasDemais() {
+
+        SalaResevada antiga1 = resevadaRepository.save(new SalaResevada(1L, "teste1", "sala-01", "09:00"));
+        SalaResevada antiga2 = resevadaRepository.save(new SalaResevada(1L, "teste1", "sala-01", "10:00"));
+        SalaResevada antiga3 = resevadaRepository.save(new SalaResevada(1L, "teste1", "sala-01", "11:00"));
+        SalaResevada nova1 = resevadaRepository.save(comInicio(LocalDateTime.of(2025, 3, 10, 9, 0)));
+        SalaResevada nova2 = resevadaRepository.save(comInicio(LocalDateTime.of(2025, 3, 10, 10, 0)));
+
+
+        List<Long> ids = new ArrayList<>();
+        List<String> cursores = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<?> response = service.mostarSalasReservadas(null, null, null, null, null, cursor, 2);
+            Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+            Pagina<?> pagina = Assertions.assertInstanceOf(Pagina.class, response.getBody());
+            pagina.itens().forEach(item -> ids.add(Assertions.assertInstanceOf(SalaResevada.class, item).getId()));
+            cursor = pagina.proximoCursor();
+            cursores.add(cursor);
+        } while (cursor != null);
+
+
+        Assertions.assertEquals(List.of(antiga1.getId(), antiga2.getId(), antiga3.getId(), nova1.getId(), nova2.getId()), ids);
+        Assertions.assertEquals("_" + antiga2.getId(), cursores.get(0));
+        Assertions.assertEquals("2025-03-10T09:00_" + nova1.getId(), cursores.get(1));
+    }
+
+
+    private SalaResevada comInicio(LocalDateTime inicio) {
+        SalaResevada reserva = new SalaResevada(2L, "teste2", "sala-02", inicio.toLocalTime().toString());
+        reserva.setData(inicio.toLocalDate());
+        reserva.setInicio(inicio);
+        reserva.setFim(inicio.plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+        return reserva;
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.RelayDeEventos;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.EventoDeReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.EventoDeReservaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eventos de reserva por segundo num broker AMQP embutido: um {@code convertAndSend} por
+ * reserva sem confirmação (como era), uma confirmação por reserva e o
+ * {@link RelayDeEventos}, com lotes confirmados de uma vez. O outbox do relay fica em
+ * memória, para medir só a publicação.
+ * <p>
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest.PublicacaoBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PublicacaoBenchmark {
+    private static final int EVENTOS = 1_000;
+
+    private BrokerAmqpEmbutido broker;
+    private CachingConnectionFactory connectionFactory;
+    private RabbitAdmin rabbitAdmin;
+    private RabbitTemplate rabbitTemplate;
+    private RelayDeEventos relay;
+    private final Deque<EventoDeReserva> outbox = new ArrayDeque<>();
+    private List<SalaResevada> reservas;
+    private List<EventoDeReserva> eventos;
+
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        broker = BrokerAmqpEmbutido.iniciar();
+        connectionFactory = new CachingConnectionFactory("localhost", broker.porta());
+        connectionFactory.setUsername("guest");
+        connectionFactory.setPassword("guest");
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.SIMPLE);
+        RabbitMqConfig config = new RabbitMqConfig();
+        rabbitAdmin = new RabbitAdmin(connectionFactory);
+        rabbitAdmin.declareQueue(config.salaReservada());
+        rabbitTemplate = config.rabbitTemplate(connectionFactory);
+        EventoDeReservaRepository repository = Mockito.mock(EventoDeReservaRepository.class);
+        Mockito.when(repository.travarPendentes(Mockito.any(LocalDateTime.class), Mockito.any(Limit.class))).thenAnswer(invocation -> {
+            List<EventoDeReserva> lote = new ArrayList<>();
+            while (lote.size() < invocation.<Limit>getArgument(1).max() && !outbox.isEmpty()) {
+                lote.add(outbox.poll());
+            }
+            return lote;
+        });
+        relay = new RelayDeEventos(repository, rabbitTemplate, Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 200, 5_000, 200, 24);
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        reservas = new ArrayList<>(EVENTOS);
+        eventos = new ArrayList<>(EVENTOS);
+        for (long id = 0; id < EVENTOS; id++) {
+            SalaResevada reserva = new SalaResevada();
+            reserva.setId(id);
+            reserva.setSalaId(id % 10);
+            reserva.setCodigo_da_sala("sala-" + id % 10);
+            reservas.add(reserva);
+            eventos.add(new EventoDeReserva(id, objectMapper.writeValueAsString(reserva), LocalDateTime.now()));
+        }
+    }
+
+
+    @TearDown(Level.Iteration)
+    public void esvaziarFila() {
+        rabbitAdmin.purgeQueue(RabbitMqConfig.SALARESERVADA);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public void umPorVezSemConfirmacao() {
+        for (SalaResevada reserva : reservas) {
+            rabbitTemplate.convertAndSend(RabbitMqConfig.SALARESERVADA, reserva);
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public void umPorVezComConfirmacao() {
+        for (SalaResevada reserva : reservas) {
+            rabbitTemplate.invoke(operacoes -> {
+                operacoes.convertAndSend(RabbitMqConfig.SALARESERVADA, reserva);
+                return operacoes.waitForConfirms(5_000);
+            });
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public int relayEmLotesComConfirmacao() {
+        outbox.addAll(eventos);
+        return relay.enviarPendentes();
+    }
+
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PublicacaoBenchmark.class.getSimpleName()).build()).run();
+    }
+}
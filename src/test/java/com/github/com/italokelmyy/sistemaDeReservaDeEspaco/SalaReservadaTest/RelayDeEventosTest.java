@@ -0,0 +1,134 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.RelayDeEventos;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.EventoDeReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.EventoDeReservaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+public class RelayDeEventosTest {
+
+    @Mock
+    private EventoDeReservaRepository repository;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Message> enviadas = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RelayDeEventos relay;
+
+
+    @BeforeEach
+    void test_down() {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(rabbitTemplate.invoke(Mockito.any())).thenAnswer(invocation -> {
+            RabbitOperations operacoes = Mockito.mock(RabbitOperations.class);
+            Mockito.doAnswer(envio -> enviadas.add(envio.getArgument(1)))
+                    .when(operacoes).send(Mockito.eq(RabbitMqConfig.SALARESERVADA), Mockito.any(Message.class));
+            invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operacoes);
+            Mockito.verify(operacoes).waitForConfirmsOrDie(1_000);
+            return null;
+        });
+        relay = new RelayDeEventos(repository, rabbitTemplate, transactionManager, meterRegistry, 2, 1_000, 100, 24);
+    }
+
+
+    @Test
+    void enviaEmLotesAteEsvaziarEMarcaComoEnviados() {
+        List<EventoDeReserva> primeiro = eventos(1, 2);
+        List<EventoDeReserva> segundo = eventos(3, 3);
+        Mockito.when(repository.travarPendentes(Mockito.any(LocalDateTime.class), Mockito.eq(Limit.of(2)))).thenReturn(primeiro).thenReturn(segundo);
+
+
+        int enviados = relay.enviarPendentes();
+
+
+        Assertions.assertEquals(3, enviados);
+        Assertions.assertEquals(List.of("1", "2", "3"), enviadas.stream().map(m -> m.getMessageProperties().getMessageId()).toList());
+        Assertions.assertEquals("application/json", enviadas.getFirst().getMessageProperties().getContentType());
+        Assertions.assertEquals("{\"id\":1}", new String(enviadas.getFirst().getBody()));
+        Assertions.assertTrue(primeiro.stream().allMatch(evento -> evento.getTravadoAte() != null));
+        Mockito.verify(repository).marcarEnviados(Mockito.eq(primeiro), Mockito.any(LocalDateTime.class));
+        Mockito.verify(repository).marcarEnviados(Mockito.eq(segundo), Mockito.any(LocalDateTime.class));
+        Mockito.verify(transactionManager, Mockito.times(4)).commit(Mockito.any());
+        Assertions.assertEquals(2, meterRegistry.get("reservas.eventos.publicacao").tag("resultado", "confirmado").timer().count());
+        Assertions.assertEquals(3, meterRegistry.get("reservas.eventos.publicados").counter().count());
+    }
+
+
+    @Test
+    void confirmacaoDoBrokerAconteceForaDaTransacaoQuePegaOLote() {
+        List<EventoDeReserva> lote = eventos(1, 1);
+        Mockito.when(repository.travarPendentes(Mockito.any(LocalDateTime.class), Mockito.eq(Limit.of(2)))).thenReturn(lote);
+
+
+        relay.enviarPendentes();
+
+
+        InOrder ordem = Mockito.inOrder(repository, transactionManager, rabbitTemplate);
+        ordem.verify(repository).travarPendentes(Mockito.any(LocalDateTime.class), Mockito.eq(Limit.of(2)));
+        ordem.verify(transactionManager).commit(Mockito.any());
+        ordem.verify(rabbitTemplate).invoke(Mockito.any());
+        ordem.verify(transactionManager).getTransaction(Mockito.any());
+        ordem.verify(repository).marcarEnviados(Mockito.eq(lote), Mockito.any(LocalDateTime.class));
+        ordem.verify(transactionManager).commit(Mockito.any());
+    }
+
+
+    @Test
+    void loteNaoConfirmadoELiberadoEEsperaAntesDeTentarDeNovo() {
+        List<EventoDeReserva> lote = eventos(1, 1);
+        Mockito.when(repository.travarPendentes(Mockito.any(LocalDateTime.class), Mockito.eq(Limit.of(2)))).thenReturn(lote);
+        Mockito.doThrow(new AmqpIOException(new IOException("nack"))).when(rabbitTemplate).invoke(Mockito.any());
+
+
+        Assertions.assertEquals(0, relay.enviarPendentes());
+        Assertions.assertEquals(0, relay.enviarPendentes());
+
+
+        Mockito.verify(repository).liberar(lote);
+        Mockito.verify(repository, Mockito.never()).marcarEnviados(Mockito.any(), Mockito.any());
+        Mockito.verify(rabbitTemplate, Mockito.times(1)).invoke(Mockito.any());
+        Assertions.assertEquals(1, meterRegistry.get("reservas.eventos.publicacao").tag("resultado", "falha").timer().count());
+    }
+
+
+    @Test
+    void outboxVazioNaoAbreCanal() {
+        Mockito.when(repository.travarPendentes(Mockito.any(LocalDateTime.class), Mockito.eq(Limit.of(2)))).thenReturn(List.of());
+
+
+        Assertions.assertEquals(0, relay.enviarPendentes());
+
+
+        Mockito.verifyNoInteractions(rabbitTemplate);
+    }
+
+
+    private static List<EventoDeReserva> eventos(long de, long ate) {
+        return new ArrayList<>(LongStream.rangeClosed(de, ate)
+                .mapToObj(id -> new EventoDeReserva(id, "{\"id\":" + id + "}", LocalDateTime.now()))
+                .toList());
+    }
+}
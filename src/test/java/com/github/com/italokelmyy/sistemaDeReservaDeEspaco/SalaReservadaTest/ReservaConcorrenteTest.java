@@ -0,0 +1,117 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReservaConcorrenteTest {
+    private static final int SALAS = 4;
+    private static final int THREADS = 16;
+    private static final int RESERVAS_POR_THREAD = 100;
+
+    @Autowired
+    private SalaReservadaService service;
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private SalaResevadaRepository resevadaRepository;
+    @Autowired
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+
+    @AfterEach
+    void limpar() {
+        horarioOcupadoRepository.deleteAll();
+        resevadaRepository.deleteAll();
+        salasRepository.deleteAll();
+    }
+
+
+    @Test
+    void reservasSimultaneasNaoGeramReservaDupla() throws Exception {
+        List<Long> salas = new ArrayList<>();
+        for (int i = 0; i < SALAS; i++) {
+            Sala sala = new Sala(null, "Tecnologia", "sala-" + i, 20L, "Primeiro andar");
+            salas.add(salasRepository.save(sala).getId());
+        }
+        LocalDate data = LocalDate.of(2025, 6, 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                int aceitas = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < RESERVAS_POR_THREAD; i++) {
+                    Long salaId = salas.get(random.nextInt(SALAS));
+                    String horario = LocalTime.of(8, 0).plusMinutes((long) HorarioOcupado.MINUTOS_POR_SLOT * random.nextInt(16)).toString();
+                    ResponseEntity<?> resposta = service.reservaSala(salaId, "carga", data, horario);
+                    if (resposta.getStatusCode() == HttpStatus.OK) {
+                        aceitas++;
+                    } else {
+                        Assertions.assertEquals(HttpStatus.CONFLICT, resposta.getStatusCode());
+                    }
+                }
+                return aceitas;
+            }));
+        }
+        largada.countDown();
+
+        int aceitas = 0;
+        for (Future<Integer> resultado : resultados) {
+            aceitas += resultado.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+
+        List<SalaResevada> gravadas = resevadaRepository.findAll();
+        Assertions.assertEquals(aceitas, gravadas.size());
+        Assertions.assertTrue(aceitas > 0);
+        Assertions.assertEquals((long) aceitas * HorarioOcupado.SLOTS_POR_RESERVA, horarioOcupadoRepository.count());
+
+        for (Long salaId : salas) {
+            List<SalaResevada> daSala = gravadas.stream()
+                    .filter(reserva -> reserva.getSalaId().equals(salaId))
+                    .sorted(Comparator.comparing(SalaResevada::getInicio))
+                    .toList();
+            for (int i = 1; i < daSala.size(); i++) {
+                long intervalo = Duration.between(daSala.get(i - 1).getInicio(), daSala.get(i).getInicio()).toMinutes();
+                Assertions.assertTrue(intervalo >= SalaResevada.DURACAO_EM_MINUTOS,
+                        "Reserva dupla na sala " + salaId + ": " + daSala.get(i - 1).getInicio() + " e " + daSala.get(i).getInicio());
+            }
+        }
+    }
+}
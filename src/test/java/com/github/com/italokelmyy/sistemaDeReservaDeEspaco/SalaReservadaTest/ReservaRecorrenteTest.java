@@ -0,0 +1,166 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.TravasPorSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Frequencia;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.ReservaRecorrente;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.ReservaRecorrenteRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.ReservaRecorrenteService;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class ReservaRecorrenteTest {
+    private static final int HORIZONTE_EM_DIAS = 28;
+
+    @Mock
+    private ReservaRecorrenteRepository recorrenteRepository;
+    @Mock
+    private SalasRepository salasRepository;
+    @Mock
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+    @Mock
+    private SalaReservadaService salaReservadaService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<List<SalaResevada>> reservas;
+
+    private ReservaRecorrenteService service;
+
+    @BeforeEach
+    void test_down() {
+        MockitoAnnotations.openMocks(this);
+        service = new ReservaRecorrenteService(recorrenteRepository, salasRepository, horarioOcupadoRepository,
+                salaReservadaService, new TravasPorSala(64), transactionManager, HORIZONTE_EM_DIAS);
+    }
+
+
+    @Test
+    void ocorrenciasSemanaisComecamNaPrimeiraDataAposOInicioDaJanela() {
+
+        ReservaRecorrente regra = regra(3L, Frequencia.SEMANAL, LocalDate.of(2025, 3, 4), LocalDate.of(2025, 4, 1));
+
+
+        List<LocalDateTime> ocorrencias = ReservaRecorrenteService.ocorrencias(regra, LocalDate.of(2025, 3, 12), LocalDate.of(2025, 12, 31)).toList();
+
+
+        Assertions.assertEquals(List.of(
+                LocalDateTime.of(2025, 3, 18, 9, 0),
+                LocalDateTime.of(2025, 3, 25, 9, 0),
+                LocalDateTime.of(2025, 4, 1, 9, 0)), ocorrencias);
+    }
+
+
+    @Test
+    void criarMaterializaApenasAteOHorizonte() {
+
+        Sala sala = new Sala(3L, "Tecnologia", "sala-03", 20L, "Primeiro andar");
+        LocalDate inicio = LocalDate.now().plusDays(1);
+        ReservaRecorrente regra = regra(3L, Frequencia.DIARIA, inicio, inicio.plusMonths(6));
+
+        Mockito.when(salasRepository.findById(3L)).thenReturn(Optional.of(sala));
+
+
+        ResponseEntity<?> response = service.criar(regra);
+
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(LocalDate.now().plusDays(HORIZONTE_EM_DIAS), regra.getMaterializadaAte());
+
+        Mockito.verify(salaReservadaService, Mockito.times(1)).gravarReservas(reservas.capture());
+        Assertions.assertEquals(HORIZONTE_EM_DIAS, reservas.getValue().size());
+        Mockito.verify(horarioOcupadoRepository, Mockito.times(1)).findBySalaIdInAndDataIn(Mockito.anyCollection(), Mockito.anyCollection());
+        Mockito.verify(recorrenteRepository, Mockito.times(1)).save(regra);
+    }
+
+
+    @Test
+    void criarRetornaTodasAsOcorrenciasEmConflito() {
+
+        Sala sala = new Sala(3L, "Tecnologia", "sala-03", 20L, "Primeiro andar");
+        LocalDate inicio = LocalDate.now().plusDays(1);
+        ReservaRecorrente regra = regra(3L, Frequencia.SEMANAL, inicio, inicio.plusWeeks(3));
+
+        Mockito.when(salasRepository.findById(3L)).thenReturn(Optional.of(sala));
+        Mockito.when(horarioOcupadoRepository.findBySalaIdInAndDataIn(Mockito.anyCollection(), Mockito.anyCollection()))
+                .thenReturn(List.of(
+                        new HorarioOcupado(3L, inicio.plusWeeks(1), HorarioOcupado.slotDoHorario(LocalTime.of(9, 15)), 50L),
+                        new HorarioOcupado(3L, inicio.plusWeeks(3), HorarioOcupado.slotDoHorario(LocalTime.of(9, 0)), 51L)));
+
+
+        ResponseEntity<?> response = service.criar(regra);
+
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        Map<?, ?> corpo = Assertions.assertInstanceOf(Map.class, response.getBody());
+        Assertions.assertEquals(List.of(
+                LocalDateTime.of(inicio.plusWeeks(1), LocalTime.of(9, 0)),
+                LocalDateTime.of(inicio.plusWeeks(3), LocalTime.of(9, 0))), corpo.get("conflitos"));
+        Mockito.verify(salaReservadaService, Mockito.never()).gravarReservas(Mockito.anyList());
+        Mockito.verify(recorrenteRepository, Mockito.never()).save(Mockito.any());
+    }
+
+
+    @Test
+    void materializarHorizonteEstendeAsSeriesDeCadaSala() {
+
+        LocalDate hoje = LocalDate.now();
+        ReservaRecorrente daSala1 = regra(1L, Frequencia.SEMANAL, hoje.minusWeeks(4), hoje.plusYears(1));
+        daSala1.setId(10L);
+        daSala1.setMaterializadaAte(hoje.plusDays(HORIZONTE_EM_DIAS - 14));
+        ReservaRecorrente daSala2 = regra(2L, Frequencia.DIARIA, hoje, hoje.plusDays(HORIZONTE_EM_DIAS - 3));
+        daSala2.setId(20L);
+        daSala2.setMaterializadaAte(hoje.plusDays(HORIZONTE_EM_DIAS - 7));
+
+        Mockito.when(recorrenteRepository.pendentesAte(hoje.plusDays(HORIZONTE_EM_DIAS))).thenReturn(List.of(daSala1, daSala2));
+        Mockito.when(salasRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(
+                new Sala(1L, "Tecnologia", "sala-01", 20L, "Primeiro andar"),
+                new Sala(2L, "Tecnologia", "sala-02", 20L, "Primeiro andar")));
+
+
+        service.materializarHorizonte();
+
+
+        Mockito.verify(salaReservadaService, Mockito.times(2)).gravarReservas(reservas.capture());
+        int total = reservas.getAllValues().stream().mapToInt(List::size).sum();
+        Assertions.assertEquals(2 + 4, total);
+        Assertions.assertTrue(reservas.getAllValues().stream().flatMap(List::stream)
+                .allMatch(reserva -> reserva.getRecorrenciaId() != null));
+        Assertions.assertEquals(hoje.plusDays(HORIZONTE_EM_DIAS), daSala1.getMaterializadaAte());
+        Assertions.assertEquals(daSala2.getDataFinal(), daSala2.getMaterializadaAte());
+    }
+
+
+    private ReservaRecorrente regra(Long salaId, Frequencia frequencia, LocalDate dataInicial, LocalDate dataFinal) {
+        ReservaRecorrente regra = new ReservaRecorrente();
+        regra.setSalaId(salaId);
+        regra.setResponsavel_pela_sala("teste1");
+        regra.setHorarioAgendado("09:00");
+        regra.setFrequencia(frequencia);
+        regra.setIntervalo(1);
+        regra.setDataInicial(dataInicial);
+        regra.setDataFinal(dataFinal);
+        return regra;
+    }
+}
@@ -96,7 +96,7 @@ public class SalaReservaTestIntegration {
 
         String responsavel = "teste1";
         String horarioAgendado = "13:00";
-        String novoHorarioConflitante = "13:20";
+        String novoHorarioConflitante = "13:15";
 
         Sala sala = new Sala();
         sala.setArea("Tecnologia");
@@ -110,18 +110,11 @@ public class SalaReservaTestIntegration {
         Optional<Sala> findById = salasRepository.findById(sala.getId());
 
 
-        SalaResevada salaResevada1 = new SalaResevada();
-        salaResevada1.setSalaId(sala.getId());
-        salaResevada1.setResponsavel_pela_sala(responsavel);
-        salaResevada1.setCodigo_da_sala(sala.getCodigo());
-        salaResevada1.setHorarioAgendado(horarioAgendado);
-        salaResevada1.setStatus(statusOcupada);
-
-        resevadaRepository.save(salaResevada1);
-
-        rabbitTemplate.convertAndSend(RabbitMqConfig.SALARESERVADA, salaResevada1);
+        service.reservaSala(sala.getId(), responsavel, horarioAgendado);
 
-        List<SalaResevada> reservasExistentes = resevadaRepository.findBySalaId(sala.getId());
+        List<SalaResevada> reservasExistentes = resevadaRepository.findAll().stream()
+                .filter(reserva -> reserva.getSalaId().equals(sala.getId()))
+                .toList();
         ResponseEntity<?> response = service.reservaSala(sala.getId(), responsavel, novoHorarioConflitante);
 
 
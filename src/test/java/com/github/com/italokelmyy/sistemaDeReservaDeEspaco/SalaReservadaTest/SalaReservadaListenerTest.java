@@ -0,0 +1,97 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.JanelaDeReservasProcessadas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.SalaReservadaListener;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SalaReservadaListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JanelaDeReservasProcessadas janela;
+    private SalaReservadaListener listener;
+
+
+    @BeforeEach
+    void test_down() {
+        meterRegistry = new SimpleMeterRegistry();
+        janela = new JanelaDeReservasProcessadas(3);
+        listener = new SalaReservadaListener(janela, meterRegistry);
+    }
+
+
+    @Test
+    void descartaReservasRepetidasNoMesmoLoteENosSeguintes() {
+        listener.receberSalasReservadas(List.of(reserva(1L), reserva(2L), reserva(1L)));
+        listener.receberSalasReservadas(List.of(reserva(2L), reserva(3L)));
+
+
+        Assertions.assertEquals(3, meterRegistry.counter("reservas.eventos.consumidos").count());
+        Assertions.assertEquals(2, meterRegistry.counter("reservas.eventos.duplicados").count());
+        Assertions.assertEquals(2, meterRegistry.summary("reservas.eventos.lote").count());
+        Assertions.assertEquals(5, meterRegistry.summary("reservas.eventos.lote").totalAmount());
+    }
+
+
+    @Test
+    void janelaEsqueceOsIdsMaisAntigos() {
+        listener.receberSalasReservadas(List.of(reserva(1L), reserva(2L), reserva(3L), reserva(4L)));
+        listener.receberSalasReservadas(List.of(reserva(1L), reserva(4L)));
+
+
+        Assertions.assertEquals(3, janela.tamanho());
+        Assertions.assertEquals(5, meterRegistry.counter("reservas.eventos.consumidos").count());
+        Assertions.assertEquals(1, meterRegistry.counter("reservas.eventos.duplicados").count());
+    }
+
+
+    @Test
+    void reservaSemIdEhSempreProcessada() {
+        listener.receberSalasReservadas(List.of(reserva(null), reserva(null)));
+
+
+        Assertions.assertEquals(2, meterRegistry.counter("reservas.eventos.consumidos").count());
+        Assertions.assertEquals(0, janela.tamanho());
+    }
+
+
+    @Test
+    void falhaNoLoteDevolveAsReservasNaoTratadasParaAReentrega() {
+        List<Long> tratadas = new ArrayList<>();
+        AtomicBoolean falhar = new AtomicBoolean(true);
+        SalaReservadaListener instavel = new SalaReservadaListener(janela, meterRegistry) {
+            @Override
+            protected void tratar(SalaResevada reserva) {
+                if (reserva.getId() == 2L && falhar.getAndSet(false)) {
+                    throw new IllegalStateException("falha ao tratar");
+                }
+                tratadas.add(reserva.getId());
+            }
+        };
+        List<SalaResevada> lote = List.of(reserva(1L), reserva(2L), reserva(3L));
+
+
+        Assertions.assertThrows(IllegalStateException.class, () -> instavel.receberSalasReservadas(lote));
+        instavel.receberSalasReservadas(lote);
+
+
+        Assertions.assertEquals(List.of(1L, 2L, 3L), tratadas);
+        Assertions.assertEquals(3, meterRegistry.counter("reservas.eventos.consumidos").count());
+        Assertions.assertEquals(1, meterRegistry.counter("reservas.eventos.duplicados").count());
+    }
+
+
+    private static SalaResevada reserva(Long id) {
+        SalaResevada reserva = new SalaResevada();
+        reserva.setId(id);
+        reserva.setCodigo_da_sala("sala-" + id);
+        return reserva;
+    }
+}
@@ -1,27 +1,44 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
 
-import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Configuration.RabbitMqConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.DisponibilidadeDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.PublicadorDeReservas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.TravasPorSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.ResultadoDaReserva;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaReservadaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class SalaReservarTest {
     @Mock
@@ -30,7 +47,24 @@ public class SalaReservarTest {
     SalasRepository salasRepository;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+
+    @Mock
+    private PublicadorDeReservas publicadorDeReservas;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DisponibilidadeDasSalas disponibilidade;
+    @Captor
+    private ArgumentCaptor<List<HorarioOcupado>> slots;
+
+    @Spy
+    private TravasPorSala travasPorSala = new TravasPorSala(64);
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private SalaReservadaService service;
@@ -73,10 +107,8 @@ public class SalaReservarTest {
             sr.setId(id);
             return sr;
         });
-        Mockito.when(resevadaRepository.findBySalaId(id)).thenReturn(Collections.emptyList());
 
 
-        rabbitTemplate.convertAndSend(RabbitMqConfig.SALARESERVADA, salaResevada);
         ResponseEntity<?> response = service.reservaSala(id, salaResevada.getResponsavel_pela_sala(), salaResevada.getHorarioAgendado());
 
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -85,6 +117,7 @@ public class SalaReservarTest {
 
         Mockito.verify(salasRepository, Mockito.times(1)).findById(id);
         Mockito.verify(resevadaRepository, Mockito.times(1)).save(Mockito.any(SalaResevada.class));
+        Mockito.verify(publicadorDeReservas, Mockito.times(1)).publicar(Mockito.anyList());
     }
 
     @Test
@@ -102,7 +135,6 @@ public class SalaReservarTest {
         sala.setLocalizacao("Segundo andar");
 
         Mockito.when(salasRepository.save(Mockito.any(Sala.class))).thenReturn(sala);
-        Mockito.when(resevadaRepository.findBySalaId(id)).thenReturn(Collections.emptyList());
 
 
         ResponseEntity<?> response = service.reservaSala(id, responsavel, horarioAgendado);
@@ -168,7 +200,8 @@ public class SalaReservarTest {
         salaResevada2.setHorarioAgendado(horarioAgendado2);
         salaResevada2.setStatus(status2);
 
-        Mockito.when(resevadaRepository.findAll()).thenReturn(Arrays.asList(salaResevada1, salaResevada2));
+        Mockito.when(resevadaRepository.listar(Mockito.isNull(), Mockito.isNull(), Mockito.isNull(), Mockito.isNull(), Mockito.isNull(),
+                Mockito.isNull(), Mockito.isNull(), Mockito.any(Limit.class))).thenReturn(Arrays.asList(salaResevada1, salaResevada2));
 
         List<SalaResevada> salaResevadaList = Arrays.asList(salaResevada1, salaResevada2);
 
@@ -180,7 +213,67 @@ public class SalaReservarTest {
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
         Assertions.assertEquals(2, salaResevadaList.size());
 
-        Mockito.verify(resevadaRepository, Mockito.times(1)).findAll();
+        Mockito.verify(resevadaRepository, Mockito.never()).findAll();
+    }
+
+
+    @Test
+    void listarReservasContinuaDepoisDoCursor() {
+
+        LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 9, 0);
+        SalaResevada primeira = new SalaResevada();
+        primeira.setId(11L);
+        primeira.setInicio(inicio);
+        SalaResevada segunda = new SalaResevada();
+        segunda.setId(12L);
+        segunda.setInicio(inicio.plusHours(1));
+
+        Mockito.when(resevadaRepository.listar(1L, "teste1", null, null, null, inicio.minusHours(1), 10L, Limit.of(2)))
+                .thenReturn(Arrays.asList(primeira, segunda));
+
+
+        ResponseEntity<?> response = service.mostarSalasReservadas(1L, "teste1", null, null, null, "2025-03-10T08:00_10", 1);
+
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Pagina<?> pagina = Assertions.assertInstanceOf(Pagina.class, response.getBody());
+        Assertions.assertEquals(List.of(primeira), pagina.itens());
+        Assertions.assertEquals("2025-03-10T09:00_11", pagina.proximoCursor());
+    }
+
+
+    @Test
+    void listarReservasContinuaDepoisDeUmCursorSemInicio() {
+
+        SalaResevada antiga = new SalaResevada();
+        antiga.setId(11L);
+        SalaResevada nova = new SalaResevada();
+        nova.setId(3L);
+        nova.setInicio(LocalDateTime.of(2025, 3, 10, 9, 0));
+
+        Mockito.when(resevadaRepository.listar(null, null, null, null, null, null, 10L, Limit.of(2)))
+                .thenReturn(Arrays.asList(antiga, nova));
+
+
+        ResponseEntity<?> response = service.mostarSalasReservadas(null, null, null, null, null, "_10", 1);
+
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Pagina<?> pagina = Assertions.assertInstanceOf(Pagina.class, response.getBody());
+        Assertions.assertEquals(List.of(antiga), pagina.itens());
+        Assertions.assertEquals("_11", pagina.proximoCursor());
+    }
+
+
+    @Test
+    void listarReservasRecusaCursorInvalido() {
+
+        ResponseEntity<?> response = service.mostarSalasReservadas(null, null, null, null, null, "abc", null);
+
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Assertions.assertEquals("Cursor inválido", response.getBody());
+        Mockito.verifyNoInteractions(resevadaRepository);
     }
 
     @Test
@@ -215,8 +308,7 @@ public class SalaReservarTest {
 
         Long salaId = 1L;
         String responsavel = "Usuario Teste";
-        String horarioExistente = "14:00";
-        String novoHorarioConflitante = "14:29";
+        String novoHorarioConflitante = "14:15";
 
 
         Sala salaMock = new Sala();
@@ -224,29 +316,210 @@ public class SalaReservarTest {
         salaMock.setCodigo("sala-01");
 
 
-        SalaResevada reservaExistente = new SalaResevada();
-        reservaExistente.setHorarioAgendado(horarioExistente);
-        reservaExistente.setSalaId(salaId);
+        Mockito.when(salasRepository.findById(salaId)).thenReturn(Optional.of(salaMock));
+        Mockito.when(horarioOcupadoRepository.saveAllAndFlush(Mockito.anyList())).thenThrow(new DataIntegrityViolationException("horarioocupado"));
+
+
+        ResponseEntity<?> response = service.reservaSala(salaId, responsavel, novoHorarioConflitante);
+
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+
+        Assertions.assertEquals("Já existe uma reserva próxima a esse horário. É necessário um intervalo de pelo menos 30 minutos.", response.getBody());
+
+
+        Mockito.verify(publicadorDeReservas, Mockito.never()).publicar(Mockito.anyList());
+        Assertions.assertEquals(1, meterRegistry.get("reservas.conflitos").tag("origem", "avulsa").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("reservas.reservar").tag("status", "409").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("reservas.reservar.fase").tag("fase", "conflito").timer().count());
+        Assertions.assertEquals(0, meterRegistry.get("reservas.reservar.fase").tag("fase", "gravacao").timer().count());
+    }
+
 
+    @Test
+    void reservaOcupaDuasFaixasDe15MinutosSemLerAsReservasDaSala() {
 
-        List<SalaResevada> reservasExistentes = Collections.singletonList(reservaExistente);
+        Long salaId = 1L;
+        LocalDate data = LocalDate.of(2025, 3, 10);
 
+        Sala salaMock = new Sala();
+        salaMock.setId(salaId);
+        salaMock.setCodigo("sala-01");
 
         Mockito.when(salasRepository.findById(salaId)).thenReturn(Optional.of(salaMock));
-        Mockito.when(resevadaRepository.findBySalaId(salaId)).thenReturn(reservasExistentes);
 
 
-        ResponseEntity<?> response = service.reservaSala(salaId, responsavel, novoHorarioConflitante);
+        ResponseEntity<?> response = service.reservaSala(salaId, "teste1", data, "23:45");
 
 
-        Assertions.assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
 
-        Assertions.assertEquals("Já existe uma reserva próxima a esse horário. É necessário um intervalo de pelo menos 30 minutos.", response.getBody());
+        Mockito.verify(horarioOcupadoRepository, Mockito.times(1)).saveAllAndFlush(slots.capture());
+        Assertions.assertEquals(2, slots.getValue().size());
+        Assertions.assertEquals(data, slots.getValue().get(0).getData());
+        Assertions.assertEquals(HorarioOcupado.SLOTS_POR_DIA - 1, slots.getValue().get(0).getSlot());
+        Assertions.assertEquals(data.plusDays(1), slots.getValue().get(1).getData());
+        Assertions.assertEquals(0, slots.getValue().get(1).getSlot());
+
+        Mockito.verify(resevadaRepository, Mockito.never()).findAll();
+        Mockito.verify(resevadaRepository).save(Mockito.argThat(reserva ->
+                reserva.getData().equals(data)
+                        && reserva.getInicio().equals(LocalDateTime.of(2025, 3, 10, 23, 45))
+                        && reserva.getFim().equals(LocalDateTime.of(2025, 3, 11, 0, 15))));
+        Mockito.verify(disponibilidade, Mockito.times(1)).ocupar(Mockito.any(SalaResevada.class));
+    }
 
 
-        Mockito.verify(resevadaRepository, Mockito.never()).save(Mockito.any(SalaResevada.class));
+    @Test
+    void reservaForaDaGradeDe15MinutosEhRecusada() {
+
+        ResponseEntity<?> response = service.reservaSala(1L, "teste1", LocalDate.of(2025, 3, 10), "14:10");
+
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Assertions.assertEquals("As reservas começam de 15 em 15 minutos (ex: 14:00, 14:15, 14:30)", response.getBody());
+        Mockito.verifyNoInteractions(salasRepository, horarioOcupadoRepository);
     }
 
 
+    @Test
+    void removerReservaLiberaOsSlots() {
+
+        Long reservaId = 5L;
+        SalaResevada reserva = new SalaResevada();
+        reserva.setId(reservaId);
+        reserva.setSalaId(1L);
+
+        Mockito.when(resevadaRepository.findById(reservaId)).thenReturn(Optional.of(reserva));
+
+
+        service.removerSalaReservada(reservaId);
+
+
+        InOrder ordem = Mockito.inOrder(horarioOcupadoRepository, resevadaRepository, disponibilidade);
+        ordem.verify(horarioOcupadoRepository).liberarDaReserva(reservaId);
+        ordem.verify(resevadaRepository).deleteById(reservaId);
+        ordem.verify(disponibilidade).liberar(reserva);
+        Mockito.verify(travasPorSala).executar(Mockito.eq(1L), Mockito.any());
+    }
+
+
+    @Test
+    void reservarEmLoteValidaOsPedidosEntreSiEContraOsHorariosExistentes() {
+
+        Long salaId = 1L;
+        LocalDate data = LocalDate.of(2025, 3, 10);
+
+        Sala salaMock = new Sala();
+        salaMock.setId(salaId);
+        salaMock.setCodigo("sala-01");
+
+        Mockito.when(salasRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(salaMock));
+        Mockito.when(horarioOcupadoRepository.findBySalaIdInAndDataIn(Mockito.anyCollection(), Mockito.eq(Set.of(data))))
+                .thenReturn(List.of(new HorarioOcupado(salaId, data, HorarioOcupado.slotDoHorario(LocalTime.of(14, 15)), 99L)));
+        Mockito.when(resevadaRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<SalaResevada> reservas = invocation.getArgument(0);
+            long id = 100L;
+            for (SalaResevada reserva : reservas) {
+                reserva.setId(id++);
+            }
+            return reservas;
+        });
+
+
+        ResponseEntity<?> response = service.reservarEmLote(List.of(
+                pedido(salaId, data, "09:00"),
+                pedido(salaId, data, "09:15"),
+                pedido(salaId, data, "14:00"),
+                pedido(salaId, data, "9h"),
+                pedido(42L, data, "10:00"),
+                pedido(salaId, data, "09:30")));
+
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<ResultadoDaReserva> resultados = resultados(response.getBody());
+        Assertions.assertEquals(List.of(200, 409, 409, 400, 404, 200), resultados.stream().map(ResultadoDaReserva::status).toList());
+        Assertions.assertEquals(100L, resultados.get(0).reservaId());
+        Assertions.assertEquals(101L, resultados.get(5).reservaId());
+
+        Mockito.verify(horarioOcupadoRepository, Mockito.times(1)).saveAllAndFlush(slots.capture());
+        Assertions.assertEquals(2 * HorarioOcupado.SLOTS_POR_RESERVA, slots.getValue().size());
+        Mockito.verify(resevadaRepository, Mockito.times(1)).saveAll(Mockito.anyList());
+        Mockito.verify(salasRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+
+    @Test
+    void reservarEmLoteLeSoOsDiasDeCadaSala() {
+
+        LocalDate janeiro = LocalDate.of(2025, 1, 6);
+        LocalDate dezembro = LocalDate.of(2025, 12, 15);
+        Sala sala1 = new Sala(1L, "Tecnologia", "sala-01", 20L, "Primeiro andar");
+        Sala sala2 = new Sala(2L, "Tecnologia", "sala-02", 20L, "Primeiro andar");
+
+        Mockito.when(salasRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(sala1, sala2));
+        Mockito.when(resevadaRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+        ResponseEntity<?> response = service.reservarEmLote(List.of(
+                pedido(1L, janeiro, "09:00"),
+                pedido(1L, dezembro, "23:45"),
+                pedido(2L, janeiro, "10:00")));
+
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Mockito.verify(horarioOcupadoRepository).findBySalaIdInAndDataIn(List.of(1L), Set.of(janeiro, dezembro, dezembro.plusDays(1)));
+        Mockito.verify(horarioOcupadoRepository).findBySalaIdInAndDataIn(List.of(2L), Set.of(janeiro));
+        Mockito.verify(horarioOcupadoRepository, Mockito.never()).findBySalaIdInAndDataBetween(Mockito.anyCollection(), Mockito.any(), Mockito.any());
+    }
+
+
+    @Test
+    void reservarEmLoteMarcaConflitoQuandoOutraReservaGanhaOsSlots() {
+
+        Long salaId = 1L;
+        LocalDate data = LocalDate.of(2025, 3, 10);
+
+        Sala salaMock = new Sala();
+        salaMock.setId(salaId);
+        salaMock.setCodigo("sala-01");
+
+        Mockito.when(salasRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(salaMock));
+        Mockito.when(horarioOcupadoRepository.saveAllAndFlush(Mockito.anyList())).thenThrow(new DataIntegrityViolationException("horarioocupado"));
+
+
+        ResponseEntity<?> response = service.reservarEmLote(List.of(pedido(salaId, data, "09:00"), pedido(salaId, data, "9h")));
+
+
+        List<ResultadoDaReserva> resultados = resultados(response.getBody());
+        Assertions.assertEquals(List.of(409, 400), resultados.stream().map(ResultadoDaReserva::status).toList());
+    }
+
+
+    @Test
+    void reservarEmLoteRecusaLoteVazioOuGrandeDemais() {
+
+        List<SalaResevada> grandeDemais = Collections.nCopies(SalaReservadaService.TAMANHO_MAXIMO_DO_LOTE + 1, pedido(1L, LocalDate.now(), "09:00"));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, service.reservarEmLote(List.of()).getStatusCode());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, service.reservarEmLote(grandeDemais).getStatusCode());
+        Mockito.verifyNoInteractions(resevadaRepository, horarioOcupadoRepository);
+    }
+
+
+    private static List<ResultadoDaReserva> resultados(Object corpo) {
+        List<?> lista = Assertions.assertInstanceOf(List.class, corpo);
+        return lista.stream().map(ResultadoDaReserva.class::cast).toList();
+    }
+
+
+    private SalaResevada pedido(Long salaId, LocalDate data, String horario) {
+        SalaResevada pedido = new SalaResevada();
+        pedido.setSalaId(salaId);
+        pedido.setResponsavel_pela_sala("teste1");
+        pedido.setData(data);
+        pedido.setHorarioAgendado(horario);
+        return pedido;
+    }
 
 }
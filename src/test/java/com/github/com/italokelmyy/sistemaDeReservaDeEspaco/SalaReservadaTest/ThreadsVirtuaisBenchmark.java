@@ -0,0 +1,84 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão e latência de requisições que passam quase todo o tempo bloqueadas, como uma
+ * reserva (consultas JPA e o envio ao RabbitMQ), com 1000 clientes simultâneos. Em
+ * {@code plataforma} elas rodam num pool de 200 threads, o máximo padrão do Tomcat,
+ * com fila sem limite como a de conexões aceitas; em {@code virtual}, uma thread
+ * virtual por requisição, como com {@code spring.threads.virtual.enabled}. O modo
+ * SampleTime traz o p99.
+ * <p>
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaReservadaTest.ThreadsVirtuaisBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(1000)
+@Fork(1)
+public class ThreadsVirtuaisBenchmark {
+    private static final int THREADS_DO_TOMCAT = 200;
+
+    @Param({"plataforma", "virtual"})
+    private String threads;
+
+    @Param({"10"})
+    private long bloqueioMs;
+
+    private ExecutorService executor;
+
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : new ThreadPoolExecutor(THREADS_DO_TOMCAT, THREADS_DO_TOMCAT, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+
+    @Benchmark
+    public Object requisicao() throws ExecutionException, InterruptedException {
+        return executor.submit(() -> {
+            Thread.sleep(bloqueioMs);
+            return Boolean.TRUE;
+        }).get();
+    }
+
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ThreadsVirtuaisBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CacheDeSegundoNivelTest {
+
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private SalaService salaService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+
+    @BeforeEach
+    void preparar() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+
+    @AfterEach
+    void limpar() {
+        salasRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+
+    @Test
+    void salaLidaPeloIdVemDoCacheEEDescartadaAoRemover() {
+        Long id = salasRepository.save(new Sala(null, "Tecnologia", "sala-cache", 20L, "Primeiro andar")).getId();
+        salasRepository.findById(id);
+        statistics.clear();
+
+
+        salasRepository.findById(id);
+        salasRepository.findById(id);
+
+
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(2, statistics.getDomainDataRegionStatistics("sala").getHitCount());
+
+        salaService.removerSala(id);
+
+        Assertions.assertFalse(entityManagerFactory.getCache().contains(Sala.class, id));
+    }
+
+
+    @Test
+    void usuarioPeloNomeUsaOCacheDeConsultas() {
+        usuarioRepository.save(new Usuario(null, "usuario-cache", "senha-segura", "cache@exemplo.com"));
+        statistics.clear();
+
+
+        usuarioRepository.findByUsuario("usuario-cache");
+        usuarioRepository.findByUsuario("usuario-cache");
+
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoSerializado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.VersaoDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+public class CatalogoSerializadoTest {
+
+    @Mock
+    private SalasRepository repository;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private CatalogoSerializado catalogo;
+
+
+    @BeforeEach
+    void testDown() {
+        MockitoAnnotations.openMocks(this);
+        catalogo = new CatalogoSerializado(repository, new VersaoDasSalas(repository, 5000), objectMapper);
+    }
+
+
+    @Test
+    void paginasSaoAsDaListagemENaoVoltamAoBanco() throws Exception {
+        Mockito.when(repository.findAll(Mockito.any(Sort.class))).thenReturn(salas(120));
+
+
+        List<Long> ids = new ArrayList<>();
+        Long cursor = null;
+        do {
+            JsonNode pagina = objectMapper.readTree(catalogo.pagina(cursor).json());
+            pagina.get("itens").forEach(sala -> ids.add(sala.get("id").asLong()));
+            cursor = pagina.get("proximoCursor").isNull() ? null : pagina.get("proximoCursor").asLong();
+        } while (cursor != null);
+        catalogo.pagina(null);
+
+
+        Assertions.assertEquals(LongStream.rangeClosed(1, 120).boxed().toList(), ids);
+        Assertions.assertEquals(Pagina.TAMANHO_PADRAO, objectMapper.readTree(catalogo.pagina(null).json()).get("itens").size());
+        Mockito.verify(repository, Mockito.times(1)).findAll(Mockito.any(Sort.class));
+    }
+
+
+    @Test
+    void cursorForaDoInicioDeUmaPaginaNaoTemJsonPronto() {
+        Mockito.when(repository.findAll(Mockito.any(Sort.class))).thenReturn(salas(120));
+
+
+        Assertions.assertNull(catalogo.pagina(7L));
+        Assertions.assertNotNull(catalogo.pagina(50L));
+    }
+
+
+    @Test
+    void invalidarTrocaOJsonEOEtag() {
+        Mockito.when(repository.findAll(Mockito.any(Sort.class))).thenReturn(salas(3)).thenReturn(salas(3)).thenReturn(salas(4));
+
+        String original = catalogo.pagina(null).etag();
+        catalogo.invalidar();
+        String semMudanca = catalogo.pagina(null).etag();
+        catalogo.invalidar();
+        String comSalaNova = catalogo.pagina(null).etag();
+
+
+        Assertions.assertEquals(original, semMudanca);
+        Assertions.assertNotEquals(original, comSalaNova);
+        Mockito.verify(repository, Mockito.times(3)).findAll(Mockito.any(Sort.class));
+    }
+
+
+    @Test
+    void salaCriadaPorOutraInstanciaTrocaOEtagDepoisDaVerificacao() {
+        catalogo = new CatalogoSerializado(repository, new VersaoDasSalas(repository, 0), objectMapper);
+        Mockito.when(repository.findAll(Mockito.any(Sort.class))).thenReturn(salas(3)).thenReturn(salas(4));
+        Mockito.when(repository.count()).thenReturn(3L, 3L, 4L);
+        Mockito.when(repository.maiorId()).thenReturn(3L, 3L, 4L);
+
+
+        String original = catalogo.pagina(null).etag();
+        String semMudanca = catalogo.pagina(null).etag();
+        String comSalaNova = catalogo.pagina(null).etag();
+
+
+        Assertions.assertEquals(original, semMudanca);
+        Assertions.assertNotEquals(original, comSalaNova);
+        Mockito.verify(repository, Mockito.times(2)).findAll(Mockito.any(Sort.class));
+    }
+
+
+    @Test
+    void catalogoVazioTemUmaPaginaVazia() throws Exception {
+        Mockito.when(repository.findAll(Mockito.any(Sort.class))).thenReturn(List.of());
+
+
+        JsonNode pagina = objectMapper.readTree(catalogo.pagina(null).json());
+
+
+        Assertions.assertEquals(0, pagina.get("itens").size());
+        Assertions.assertTrue(pagina.get("proximoCursor").isNull());
+    }
+
+
+    private List<Sala> salas(long quantidade) {
+        return LongStream.rangeClosed(1, quantidade)
+                .mapToObj(id -> new Sala(id, "Tecnologia", "sala-" + id, 20L, "Primeiro andar"))
+                .toList();
+    }
+}
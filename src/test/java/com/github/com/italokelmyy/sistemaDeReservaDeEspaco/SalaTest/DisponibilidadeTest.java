@@ -0,0 +1,268 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoDeSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoSerializado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.DisponibilidadeDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.VersaoDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.IntervaloLivre;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.CacheService;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class DisponibilidadeTest {
+    private static final LocalDate DIA = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private SalasRepository repository;
+    @Mock
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+
+    private DisponibilidadeDasSalas disponibilidade;
+    private SalaService service;
+
+
+    @BeforeEach
+    void testDown() {
+        MockitoAnnotations.openMocks(this);
+        disponibilidade = new DisponibilidadeDasSalas(horarioOcupadoRepository, 120);
+        service = new SalaService(repository, disponibilidade, new CatalogoDeSalas(repository, new VersaoDasSalas(repository, 5000)),
+                Mockito.mock(CatalogoSerializado.class), Mockito.mock(CacheService.class));
+    }
+
+
+    @Test
+    void intervalosLivresSaoOsBuracosEntreOsSlotsOcupados() {
+        List<Integer> slots = new ArrayList<>();
+        faixas(8 * 60, 8 * 60 + 30).forEach(slots::add);
+        faixas(23 * 60 + 45, 24 * 60).forEach(slots::add);
+        Mockito.when(horarioOcupadoRepository.slotsDoDia(1L, DIA)).thenReturn(slots);
+
+
+        List<IntervaloLivre> livres = disponibilidade.intervalosLivres(1L, DIA);
+
+
+        Assertions.assertEquals(List.of(
+                new IntervaloLivre("00:00", "08:00"),
+                new IntervaloLivre("08:30", "23:45")), livres);
+    }
+
+
+    @Test
+    void reservaECancelamentoAtualizamODiaSemRecarregar() {
+        Mockito.when(horarioOcupadoRepository.slotsDoDia(Mockito.eq(1L), Mockito.any())).thenReturn(List.of());
+        disponibilidade.intervalosLivres(1L, DIA);
+        disponibilidade.intervalosLivres(1L, DIA.plusDays(1));
+
+        SalaResevada reserva = new SalaResevada();
+        reserva.setSalaId(1L);
+        reserva.setInicio(LocalDateTime.of(DIA, LocalTime.of(23, 45)));
+        reserva.setFim(reserva.getInicio().plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+
+
+        disponibilidade.ocupar(reserva);
+
+
+        Assertions.assertEquals(List.of(new IntervaloLivre("00:00", "23:45")), disponibilidade.intervalosLivres(1L, DIA));
+        Assertions.assertEquals(List.of(new IntervaloLivre("00:15", "24:00")), disponibilidade.intervalosLivres(1L, DIA.plusDays(1)));
+
+        disponibilidade.liberar(reserva);
+
+        Assertions.assertEquals(List.of(new IntervaloLivre("00:00", "24:00")), disponibilidade.intervalosLivres(1L, DIA));
+        Mockito.verify(horarioOcupadoRepository, Mockito.times(1)).slotsDoDia(1L, DIA);
+    }
+
+
+    @Test
+    void reservaAplicadaDuranteACargaNaoSePerde() {
+        SalaResevada reserva = new SalaResevada();
+        reserva.setSalaId(1L);
+        reserva.setInicio(LocalDateTime.of(DIA, LocalTime.of(9, 0)));
+        reserva.setFim(reserva.getInicio().plusMinutes(SalaResevada.DURACAO_EM_MINUTOS));
+        List<Integer> slots = faixas(9 * 60, 9 * 60 + 30).boxed().toList();
+        Mockito.when(horarioOcupadoRepository.slotsDoDia(1L, DIA))
+                .thenAnswer(invocation -> {
+                    disponibilidade.ocupar(reserva);
+                    return List.of();
+                })
+                .thenReturn(slots);
+
+
+        List<IntervaloLivre> livres = disponibilidade.intervalosLivres(1L, DIA);
+
+
+        Assertions.assertEquals(List.of(
+                new IntervaloLivre("00:00", "09:00"),
+                new IntervaloLivre("09:30", "24:00")), livres);
+        Mockito.verify(horarioOcupadoRepository, Mockito.times(2)).slotsDoDia(1L, DIA);
+    }
+
+
+    @Test
+    void soAsDatasMaisUsadasFicamEmMemoria() {
+        disponibilidade = new DisponibilidadeDasSalas(horarioOcupadoRepository, 2);
+        Mockito.when(horarioOcupadoRepository.slotsDoDia(Mockito.eq(1L), Mockito.any())).thenReturn(List.of());
+
+
+        for (int rodada = 0; rodada < 2; rodada++) {
+            for (int dia = 0; dia < 10; dia++) {
+                disponibilidade.intervalosLivres(1L, DIA.plusDays(dia));
+            }
+        }
+
+
+        Mockito.verify(horarioOcupadoRepository, Mockito.atLeast(18)).slotsDoDia(Mockito.eq(1L), Mockito.any());
+    }
+
+
+    @Test
+    void disponibilidadeDeSalaInexistente() {
+        Mockito.when(repository.existsById(9L)).thenReturn(false);
+
+
+        ResponseEntity<?> response = service.disponibilidade(9L, DIA);
+
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals("Sala não encontrada", response.getBody());
+        Mockito.verifyNoInteractions(horarioOcupadoRepository);
+    }
+
+
+    @Test
+    void buscaCruzaCapacidadeAreaEHorariosLivres() {
+        Mockito.when(repository.findAll()).thenReturn(List.of(
+                new Sala(1L, "Tecnologia", "sala-01", 10L, "Primeiro andar"),
+                new Sala(2L, "Tecnologia", "sala-02", 30L, "Primeiro andar"),
+                new Sala(3L, "Tecnologia", "sala-03", 40L, "Segundo andar"),
+                new Sala(4L, "Financeiro", "sala-04", 50L, "Primeiro andar")));
+        List<HorarioOcupado> ocupados = new ArrayList<>();
+        faixas(14 * 60 + 30, 15 * 60).forEach(slot -> ocupados.add(new HorarioOcupado(2L, DIA, slot, 20L)));
+        Mockito.when(horarioOcupadoRepository.findBySalaIdInAndDataBetween(Mockito.anyCollection(), Mockito.eq(DIA), Mockito.eq(DIA)))
+                .thenReturn(ocupados);
+
+
+        ResponseEntity<?> response = service.buscarSalasLivres(DIA, "14:00", "15:00", 20L, "tecnologia", null);
+
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Sala> livres = salasDaResposta(response.getBody());
+        Assertions.assertEquals(List.of(3L), livres.stream().map(Sala::getId).toList());
+
+        ResponseEntity<?> depois = service.buscarSalasLivres(DIA, "15:00", null, 20L, "Tecnologia", "primeiro andar");
+        Assertions.assertEquals(List.of(2L), salasDaResposta(depois.getBody()).stream().map(Sala::getId).toList());
+        Mockito.verify(horarioOcupadoRepository, Mockito.times(1)).findBySalaIdInAndDataBetween(Mockito.anyCollection(), Mockito.any(), Mockito.any());
+        Mockito.verify(horarioOcupadoRepository, Mockito.never()).slotsDoDia(Mockito.any(), Mockito.any());
+    }
+
+
+    @Test
+    void salaCriadaPorOutraInstanciaEntraNaBuscaDepoisDaVerificacao() {
+        service = new SalaService(repository, disponibilidade, new CatalogoDeSalas(repository, new VersaoDasSalas(repository, 0)),
+                Mockito.mock(CatalogoSerializado.class), Mockito.mock(CacheService.class));
+        Sala sala1 = new Sala(1L, "Tecnologia", "sala-01", 10L, "Primeiro andar");
+        Sala sala2 = new Sala(2L, "Tecnologia", "sala-02", 10L, "Primeiro andar");
+        Mockito.when(repository.findAll()).thenReturn(List.of(sala1)).thenReturn(List.of(sala1, sala2));
+        Mockito.when(repository.count()).thenReturn(1L, 1L, 2L);
+        Mockito.when(repository.maiorId()).thenReturn(1L, 1L, 2L);
+        Mockito.when(horarioOcupadoRepository.findBySalaIdInAndDataBetween(Mockito.anyCollection(), Mockito.eq(DIA), Mockito.eq(DIA)))
+                .thenReturn(List.of());
+
+
+        List<Sala> antes = salasDaResposta(service.buscarSalasLivres(DIA, "09:00", null, null, null, null).getBody());
+        List<Sala> semMudanca = salasDaResposta(service.buscarSalasLivres(DIA, "09:00", null, null, null, null).getBody());
+        List<Sala> depois = salasDaResposta(service.buscarSalasLivres(DIA, "09:00", null, null, null, null).getBody());
+
+
+        Assertions.assertEquals(1, antes.size());
+        Assertions.assertEquals(1, semMudanca.size());
+        Assertions.assertEquals(2, depois.size());
+        Mockito.verify(repository, Mockito.times(2)).findAll();
+    }
+
+
+    @Test
+    void buscaRecusaJanelaInvalida() {
+
+        ResponseEntity<?> response = service.buscarSalasLivres(DIA, "15:00", "14:00", null, null, null);
+
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+
+    @Test
+    void buscaEmDezMilSalasNaoConsultaOBancoDepoisDaPrimeiraVez() {
+        int quantidade = 10_000;
+        List<Sala> salas = new ArrayList<>();
+        Map<Long, List<HorarioOcupado>> ocupadosPorSala = new HashMap<>();
+        for (long id = 1; id <= quantidade; id++) {
+            long salaId = id;
+            salas.add(new Sala(salaId, salaId % 2 == 0 ? "Tecnologia" : "Financeiro", "sala-" + salaId, salaId % 60, "Andar " + salaId % 5));
+            if (salaId % 3 == 0) {
+                ocupadosPorSala.put(salaId, faixas(9 * 60 + 15, 9 * 60 + 45)
+                        .mapToObj(slot -> new HorarioOcupado(salaId, DIA, slot, salaId)).toList());
+            }
+        }
+        Mockito.when(repository.findAll()).thenReturn(salas);
+        Mockito.when(horarioOcupadoRepository.findBySalaIdInAndDataBetween(Mockito.anyCollection(), Mockito.eq(DIA), Mockito.eq(DIA)))
+                .thenAnswer(invocacao -> {
+                    Collection<Long> ids = invocacao.getArgument(0);
+                    return ids.stream().flatMap(id -> ocupadosPorSala.getOrDefault(id, List.of()).stream()).toList();
+                });
+        for (int i = 0; i < 200; i++) {
+            service.buscarSalasLivres(DIA, "09:00", "10:00", 10L, null, null);
+        }
+        Mockito.verify(horarioOcupadoRepository, Mockito.atMost(quantidade / 1000)).findBySalaIdInAndDataBetween(Mockito.anyCollection(), Mockito.any(), Mockito.any());
+        Mockito.clearInvocations(horarioOcupadoRepository);
+
+        long inicio = System.nanoTime();
+        int consultas = 100;
+        List<Sala> livres = null;
+        for (int i = 0; i < consultas; i++) {
+            livres = salasDaResposta(service.buscarSalasLivres(DIA, "09:00", "10:00", 10L, null, null).getBody());
+        }
+        long mediaEmMicros = (System.nanoTime() - inicio) / consultas / 1_000;
+        System.out.printf("Busca de salas livres em %d salas: %d us por consulta%n", quantidade, mediaEmMicros);
+
+        long esperadas = salas.stream().filter(sala -> sala.getCapacidade() >= 10 && sala.getId() % 3 != 0).count();
+        Assertions.assertEquals(esperadas, livres.size());
+        Mockito.verifyNoInteractions(horarioOcupadoRepository);
+    }
+
+
+    private static List<Sala> salasDaResposta(Object corpo) {
+        List<?> lista = Assertions.assertInstanceOf(List.class, corpo);
+        return lista.stream().map(Sala.class::cast).toList();
+    }
+
+
+    /**
+     * As faixas de 15 minutos entre dois minutos do dia.
+     */
+    private static IntStream faixas(int deMinuto, int ateMinuto) {
+        return IntStream.range(deMinuto / HorarioOcupado.MINUTOS_POR_SLOT, ateMinuto / HorarioOcupado.MINUTOS_POR_SLOT);
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.SalaResevada;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalaResevadaRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Subida sobre um banco antigo, com uma sala gravada antes de as sequências existirem:
+ * quando o EntityManagerFactory fica pronto a sequência já passou do id dela, e as
+ * reservas antigas já têm dia, início e fim e as suas faixas de 15 minutos.
+ */
+@SpringBootTest(properties = {"spring.jpa.hibernate.ddl-auto=update",
+        "spring.datasource.url=jdbc:h2:mem:legado;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:legado/banco-antigo.sql'"})
+@ActiveProfiles("test")
+public class MigracoesDoBancoTest {
+
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private SalaResevadaRepository resevadaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void primeiraSalaNovaNaoReusaOIdDaSalaAntiga() {
+        Sala nova = salasRepository.save(new Sala(null, "Tecnologia", "sala-nova", 10L, "Térreo"));
+
+
+        Assertions.assertTrue(nova.getId() > 700, "Id da sala nova: " + nova.getId());
+        Assertions.assertEquals(2, salasRepository.count());
+    }
+
+
+    @Test
+    void faixasDasReservasAntigasSaoGeradasNaSubida() {
+
+        List<Integer> faixas = jdbcTemplate.queryForList("select slot from faixaocupada where data = date '2025-03-10' order by slot", Integer.class);
+
+
+        Assertions.assertEquals(List.of(56, 57, 58, 59, 60), faixas);
+        Assertions.assertEquals(3, jdbcTemplate.queryForObject("select count(*) from faixaocupada where reserva_id = 901", Integer.class));
+    }
+
+
+    @Test
+    void reservaSemDiaGanhaInicioEFaixas() {
+
+        SalaResevada antiga = resevadaRepository.findById(902L).orElseThrow();
+
+
+        Assertions.assertEquals(LocalTime.of(16, 0), antiga.getInicio().toLocalTime());
+        Assertions.assertEquals(antiga.getInicio().toLocalDate(), antiga.getData());
+        Assertions.assertEquals(antiga.getInicio().plusMinutes(SalaResevada.DURACAO_EM_MINUTOS), antiga.getFim());
+        Assertions.assertEquals(List.of(64, 65),
+                jdbcTemplate.queryForList("select slot from faixaocupada where reserva_id = 902 order by slot", Integer.class));
+    }
+}
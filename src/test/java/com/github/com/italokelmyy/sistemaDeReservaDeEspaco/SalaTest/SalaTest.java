@@ -1,8 +1,14 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
 
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoDeSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoSerializado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.DisponibilidadeDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Controller.SalasController;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.CacheService;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.SalaService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,18 +17,37 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
 public class SalaTest {
 
     @Mock
     private SalasRepository repository;
 
+    @Mock
+    private DisponibilidadeDasSalas disponibilidade;
+
+    @Mock
+    private CatalogoDeSalas catalogo;
+
+    @Mock
+    private CatalogoSerializado catalogoSerializado;
+
+    @Mock
+    private CacheService cacheService;
+
     @InjectMocks
     private SalaService service;
 
@@ -38,7 +63,8 @@ public class SalaTest {
         Sala sala1 = new Sala(1L, "Desenvolvedor de Software", "sala-15", 25L, "Segundo andar");
         Sala sala2 = new Sala(2L, "Desenvolvedor de Mobile", "sala-20", 28L, "Segundo andar");
 
-        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(sala1, sala2));
+        Mockito.when(repository.listar(Mockito.isNull(), Mockito.isNull(), Mockito.isNull(), Mockito.isNull(), Mockito.any(Limit.class)))
+                .thenReturn(Arrays.asList(sala1, sala2));
 
 
         List<Sala> salaList = service.salasDisponiveis();
@@ -46,7 +72,74 @@ public class SalaTest {
 
         Assertions.assertEquals(2, salaList.size());
 
-        Mockito.verify(repository, Mockito.times(1)).findAll();
+        Mockito.verify(repository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void test_listar_salas_por_pagina() {
+        Sala sala1 = new Sala(1L, "Tecnologia", "sala-15", 25L, "Segundo andar");
+        Sala sala2 = new Sala(2L, "Tecnologia", "sala-20", 28L, "Segundo andar");
+        Sala sala3 = new Sala(3L, "Tecnologia", "sala-21", 28L, "Segundo andar");
+
+        Mockito.when(repository.listar(StatusDaSala.Disponivel, "Tecnologia", null, 7L, Limit.of(3)))
+                .thenReturn(Arrays.asList(sala1, sala2, sala3));
+
+
+        Pagina<Sala> pagina = service.listarSalas(StatusDaSala.Disponivel, "Tecnologia", null, 7L, 2);
+
+
+        Assertions.assertEquals(List.of(sala1, sala2), pagina.itens());
+        Assertions.assertEquals("2", pagina.proximoCursor());
+    }
+
+    @Test
+    void test_tamanho_da_pagina_tem_limite() {
+
+        service.listarSalas(null, null, null, null, 10_000);
+
+
+        Mockito.verify(repository).listar(null, null, null, null, Limit.of(Pagina.TAMANHO_MAXIMO + 1));
+    }
+
+    @Test
+    void test_lista_sem_filtros_sai_do_json_pronto() {
+        byte[] json = "{\"itens\":[],\"proximoCursor\":null}".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(catalogoSerializado.pagina(null)).thenReturn(new CatalogoSerializado.PaginaPronta(json, "\"abc\""));
+
+
+        ResponseEntity<?> response = service.listaDeSalas(null, null, null, null, null);
+
+
+        Assertions.assertSame(json, response.getBody());
+        Assertions.assertEquals("\"abc\"", response.getHeaders().getETag());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void test_lista_com_filtro_vai_ao_banco() {
+
+        ResponseEntity<?> response = service.listaDeSalas(StatusDaSala.Disponivel, null, null, null, null);
+
+
+        Assertions.assertInstanceOf(Pagina.class, response.getBody());
+        Mockito.verify(repository).listar(StatusDaSala.Disponivel, null, null, null, Limit.of(Pagina.TAMANHO_PADRAO + 1));
+        Mockito.verifyNoInteractions(catalogoSerializado);
+    }
+
+    @Test
+    void test_lista_responde_304_quando_o_etag_confere() throws Exception {
+        byte[] json = "{\"itens\":[],\"proximoCursor\":null}".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(catalogoSerializado.pagina(null)).thenReturn(new CatalogoSerializado.PaginaPronta(json, "\"abc\""));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SalasController(service)).build();
+
+
+        int semEtag = mockMvc.perform(get("/sala/lista")).andReturn().getResponse().getStatus();
+        int comEtag = mockMvc.perform(get("/sala/lista").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+                .andReturn().getResponse().getStatus();
+
+
+        Assertions.assertEquals(HttpStatus.OK.value(), semEtag);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(), comEtag);
     }
 
     @Test
@@ -63,6 +156,8 @@ public class SalaTest {
         Assertions.assertEquals("Sala adicionada com sucesso", response.getBody());
 
         Mockito.verify(repository, Mockito.times(1)).save(Mockito.any(Sala.class));
+        Mockito.verify(catalogo, Mockito.times(1)).invalidar();
+        Mockito.verify(catalogoSerializado, Mockito.times(1)).invalidar();
     }
 
     @Test
@@ -75,6 +170,8 @@ public class SalaTest {
         Assertions.assertEquals("Sala removida com sucesso", response.getBody());
 
         Mockito.verify(repository, Mockito.times(1)).deleteById(id);
+        Mockito.verify(catalogo, Mockito.times(1)).invalidar();
+        Mockito.verify(cacheService, Mockito.times(1)).descartarSala(id);
     }
 
     @Test
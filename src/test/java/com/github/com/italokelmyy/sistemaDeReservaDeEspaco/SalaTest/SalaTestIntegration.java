@@ -1,6 +1,7 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
 
 
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.Pagina;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.StatusDaSala;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -120,6 +122,24 @@ public class SalaTestIntegration {
     }
 
 
+    @Test
+    void listarSalasPercorreTodasAsPaginas() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(new Sala(null, i % 2 == 0 ? "Tecnologia" : "Financeiro", "sala-" + i, 20L, "Primeiro andar"));
+        }
+
+        List<String> codigos = new ArrayList<>();
+        Pagina<Sala> pagina = salaService.listarSalas(null, "Tecnologia", null, null, 2);
+        pagina.itens().forEach(sala -> codigos.add(sala.getCodigo()));
+        while (pagina.proximoCursor() != null) {
+            pagina = salaService.listarSalas(null, "Tecnologia", null, Long.valueOf(pagina.proximoCursor()), 2);
+            pagina.itens().forEach(sala -> codigos.add(sala.getCodigo()));
+        }
+
+        Assertions.assertEquals(List.of("sala-0", "sala-2", "sala-4"), codigos);
+    }
+
+
 
 
 }
@@ -0,0 +1,112 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.MigracoesDoBanco;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.SequenciasDeIds;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ids de sala e usuário vindos de sequências pooled: os inserts do Hibernate vão em
+ * batches e quem grava com JDBC puro pega ids do mesmo gerador.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sequencias")
+@ActiveProfiles("test")
+public class SequenciasDeIdsTest {
+
+    @Autowired
+    private SequenciasDeIds sequenciasDeIds;
+    @Autowired
+    private MigracoesDoBanco migracoesDoBanco;
+    @Autowired
+    private SalasRepository salasRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+
+    @AfterEach
+    void limpar() {
+        salasRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+
+    @Test
+    void salasNovasSaoGravadasEmBatches() {
+        List<Sala> salas = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            salas.add(new Sala(null, "Tecnologia", "sala-batch-" + i, 10L, "Térreo"));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+
+        salasRepository.saveAll(salas);
+
+
+        Assertions.assertEquals(120, salasRepository.count());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() < 12,
+                "Statements preparados para 120 salas: " + statistics.getPrepareStatementCount());
+    }
+
+
+    @Test
+    void idsTiradosDaSequenciaNaoColidemComOsDoHibernate() {
+        long[] ids = sequenciasDeIds.proximos(Usuario.class, 70);
+        Long salvo = usuarioRepository.save(new Usuario(null, "sequencia", "Senha@Teste123", "sequencia@teste.com")).getId();
+
+
+        Assertions.assertEquals(70, Arrays.stream(ids).distinct().count());
+        Assertions.assertTrue(Arrays.stream(ids).noneMatch(id -> id == salvo));
+    }
+
+
+    @Test
+    void sequenciaSoAvanca() {
+        sequenciasDeIds.avancar("sala_seq", 100_001);
+        Assertions.assertEquals(100_050, valorDaSequencia("SALA_SEQ"));
+
+
+        sequenciasDeIds.avancar("sala_seq", 5);
+
+
+        Assertions.assertEquals(100_050, valorDaSequencia("SALA_SEQ"));
+    }
+
+
+    @Test
+    void naSubidaAsSequenciasPassamDosIdsJaGravados() {
+        jdbcTemplate.update("insert into salareservada (id, responsavel_pela_sala) values (?, ?)", 500_000L, "antiga");
+        try {
+            migracoesDoBanco.migrar();
+
+            Assertions.assertEquals(500_050, valorDaSequencia("SALARESERVADA_SEQ"));
+        } finally {
+            jdbcTemplate.update("delete from salareservada where id = ?", 500_000L);
+        }
+    }
+
+
+    private long valorDaSequencia(String nome) {
+        return jdbcTemplate.queryForObject("select base_value from information_schema.sequences where sequence_name = ?", Long.class, nome);
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.SalaTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoDeSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.CatalogoSerializado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.DisponibilidadeDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.VersaoDasSalas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.HorarioOcupado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Sala;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.HorarioOcupadoRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.SalasRepository;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Os catálogos consultam o banco com a trava tomada, e a disponibilidade carrega os
+ * dias que faltam sob concorrência. Numa thread virtual isso não pode prender a thread
+ * da plataforma; o JFR registra um {@code jdk.VirtualThreadPinned} sempre que acontece.
+ */
+public class ThreadsVirtuaisTest {
+
+    @Mock
+    private SalasRepository salasRepository;
+    @Mock
+    private HorarioOcupadoRepository horarioOcupadoRepository;
+
+    private CatalogoDeSalas catalogoDeSalas;
+    private CatalogoSerializado catalogoSerializado;
+    private DisponibilidadeDasSalas disponibilidade;
+
+
+    @BeforeEach
+    void testDown() {
+        MockitoAnnotations.openMocks(this);
+        List<Sala> salas = List.of(new Sala(1L, "Tecnologia", "sala-1", 20L, "Primeiro andar"));
+        Mockito.when(salasRepository.findAll()).thenAnswer(invocation -> consultaLenta(salas));
+        Mockito.when(salasRepository.findAll(Mockito.any(Sort.class))).thenAnswer(invocation -> consultaLenta(salas));
+        catalogoDeSalas = new CatalogoDeSalas(salasRepository, new VersaoDasSalas(salasRepository, 5000));
+        catalogoSerializado = new CatalogoSerializado(salasRepository, new VersaoDasSalas(salasRepository, 5000), new ObjectMapper());
+        Mockito.when(horarioOcupadoRepository.slotsDoDia(Mockito.anyLong(), Mockito.any())).thenAnswer(invocation -> consultaLenta(List.of(8 * 60 / HorarioOcupado.MINUTOS_POR_SLOT)));
+        disponibilidade = new DisponibilidadeDasSalas(horarioOcupadoRepository, 120);
+    }
+
+
+    @Test
+    void reconstruirOsCatalogosNaoPrendeAThreadDaPlataforma() throws Exception {
+        int pinados = pinadosDurante(() -> {
+            catalogoDeSalas.invalidar();
+            catalogoSerializado.invalidar();
+            Assertions.assertNotNull(catalogoDeSalas.indice());
+            Assertions.assertNotNull(catalogoSerializado.pagina(null));
+        });
+
+
+        Assertions.assertEquals(0, pinados);
+    }
+
+
+    @Test
+    void carregarODiaDaSalaNaoPrendeAThreadDaPlataforma() throws Exception {
+        LocalDate dia = LocalDate.of(2025, 3, 10);
+        int pinados = pinadosDurante(() -> Assertions.assertFalse(disponibilidade.intervalosLivres(1L, dia).isEmpty()));
+
+
+        Assertions.assertEquals(0, pinados);
+    }
+
+
+    private static int pinadosDurante(Runnable acao) throws Exception {
+        AtomicInteger pinados = new AtomicInteger();
+        try (RecordingStream recording = new RecordingStream();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", evento -> pinados.incrementAndGet());
+            recording.startAsync();
+
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                tarefas.add(executor.submit(acao));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+
+            recording.stop();
+        }
+        return pinados.get();
+    }
+
+
+    private static <T> T consultaLenta(T resultado) throws InterruptedException {
+        Thread.sleep(5);
+        return resultado;
+    }
+}
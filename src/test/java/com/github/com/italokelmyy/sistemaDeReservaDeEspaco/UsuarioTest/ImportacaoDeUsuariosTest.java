@@ -0,0 +1,175 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.UsuarioTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.ResultadoDaImportacao;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtUtil;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.ImportacaoDeUsuariosService;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.UsuarioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {"usuario.importacao.tamanho-do-lote=2", "usuario.importacao.threads=2",
+        "seguranca.administradores=admin"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ImportacaoDeUsuariosTest {
+
+    @Autowired
+    private ImportacaoDeUsuariosService importacaoDeUsuariosService;
+    @Autowired
+    private UsuarioService usuarioService;
+    @Autowired
+    private UsuarioRepository repository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private MockMvc mockMvc;
+
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAll();
+    }
+
+
+    @Test
+    void importaEmLotesComASenhaCodificada() {
+        ResultadoDaImportacao resultado = importar("""
+                usuario,email,senha
+                ana,ana@exemplo.com,senhasegura123
+                bruno,bruno@exemplo.com,senha,com,virgula
+
+                carla,carla@exemplo.com,senhasegura123
+                """);
+
+
+        Assertions.assertEquals(new ResultadoDaImportacao(3, 0, List.of()), resultado);
+        Usuario bruno = repository.findByUsuario("bruno").orElseThrow();
+        Assertions.assertTrue(passwordEncoder.matches("senha,com,virgula", bruno.getSenha()));
+        Assertions.assertEquals(0L, bruno.getVersao());
+    }
+
+
+    @Test
+    void recusaLinhasInvalidasRepetidasEJaCadastradas() {
+        usuarioService.cadastro(new Usuario(null, "ana", "senhasegura123", "ana@exemplo.com"));
+
+
+        ResultadoDaImportacao resultado = importar("""
+                ana,outra@exemplo.com,senhasegura123
+                bruno,ana@exemplo.com,senhasegura123
+                carla,carla@exemplo.com,curta
+                daniel,daniel@exemplo.com,senhasegura123
+                daniel,daniel2@exemplo.com,senhasegura123
+                so-duas,colunas
+                """);
+
+
+        Assertions.assertEquals(1, resultado.importados());
+        Assertions.assertEquals(5, resultado.recusados());
+        Assertions.assertEquals(List.of(
+                "Linha 1: Usuário já cadastrado",
+                "Linha 2: E-mail já cadastrado",
+                "Linha 3: Senha com no mínimo 8 caracteres",
+                "Linha 5: Usuário repetido no arquivo",
+                "Linha 6: Esperado usuario,email,senha"), resultado.erros());
+        Assertions.assertEquals(2, repository.count());
+    }
+
+
+    @Test
+    void cadastroRepetidoDevolveConflitoPeloIndiceUnico() {
+        Assertions.assertEquals(HttpStatus.OK,
+                usuarioService.cadastro(new Usuario(null, "ana", "senhasegura123", "ana@exemplo.com")).getStatusCode());
+
+
+        ResponseEntity<?> mesmoUsuario = usuarioService.cadastro(new Usuario(null, "ana", "senhasegura123", "outra@exemplo.com"));
+        ResponseEntity<?> mesmoEmail = usuarioService.cadastro(new Usuario(null, "bruno", "senhasegura123", "ana@exemplo.com"));
+
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, mesmoUsuario.getStatusCode());
+        Assertions.assertEquals("Usuário já cadastrado", mesmoUsuario.getBody());
+        Assertions.assertEquals(HttpStatus.CONFLICT, mesmoEmail.getStatusCode());
+        Assertions.assertEquals("E-mail já cadastrado", mesmoEmail.getBody());
+    }
+
+
+    @Test
+    void usuarioImportadoConsegueLogarMesmoComAConsultaEmCache() {
+        Usuario login = new Usuario(null, "ana", "senhasegura123", "ana@exemplo.com");
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, usuarioService.login(login).join().getStatusCode());
+
+
+        importar("ana,ana@exemplo.com,senhasegura123");
+
+
+        Assertions.assertEquals(HttpStatus.OK, usuarioService.login(login).join().getStatusCode());
+    }
+
+
+    @Test
+    @WithMockUser
+    void usuarioSemPapelDeAdministradorNaoImporta() throws Exception {
+        int status = mockMvc.perform(post("/usuario/importacao").secure(true)
+                .contentType("text/csv").content("ana,ana@exemplo.com,senhasegura123")).andReturn().getResponse().getStatus();
+
+
+        Assertions.assertEquals(403, status);
+        Assertions.assertEquals(0, repository.count());
+    }
+
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void administradorImporta() throws Exception {
+        int status = mockMvc.perform(post("/usuario/importacao").secure(true)
+                .contentType("text/csv").content("ana,ana@exemplo.com,senhasegura123")).andReturn().getResponse().getStatus();
+
+
+        Assertions.assertEquals(200, status);
+        Assertions.assertTrue(repository.findByUsuario("ana").isPresent());
+    }
+
+
+    @Test
+    void soOsAdministradoresConfiguradosRecebemOPapelNoLogin() {
+        importar("""
+                admin,admin@exemplo.com,senhasegura123
+                ana,ana@exemplo.com,senhasegura123
+                """);
+
+
+        String tokenDoAdmin = (String) usuarioService.login(new Usuario(null, "admin", "senhasegura123", null)).join().getBody();
+        String tokenDaAna = (String) usuarioService.login(new Usuario(null, "ana", "senhasegura123", null)).join().getBody();
+
+
+        Assertions.assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), jwtUtil.verificar(tokenDoAdmin).orElseThrow().papeis().stream().sorted().toList());
+        Assertions.assertEquals(List.of("ROLE_USER"), jwtUtil.verificar(tokenDaAna).orElseThrow().papeis());
+    }
+
+
+    private ResultadoDaImportacao importar(String csv) {
+        ResponseEntity<?> resposta = importacaoDeUsuariosService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        return (ResultadoDaImportacao) resposta.getBody();
+    }
+}
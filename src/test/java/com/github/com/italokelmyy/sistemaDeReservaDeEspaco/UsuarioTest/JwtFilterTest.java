@@ -0,0 +1,149 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.UsuarioTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.DTO.VersaoDoUsuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtFilter;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtUtil;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.TokenVerificado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.VersoesDosUsuarios;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.PapeisDosUsuarios;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public class JwtFilterTest {
+    private static final String TOKEN = "token";
+
+    @Mock
+    private UsuarioRepository repository;
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private VersoesDosUsuarios versoesDosUsuarios;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtFilter filter;
+
+
+    @BeforeEach
+    void test_down() {
+        MockitoAnnotations.openMocks(this);
+        SecurityContextHolder.clearContext();
+        versoesDosUsuarios = new VersoesDosUsuarios(repository);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtFilter(repository, jwtUtil, versoesDosUsuarios, new PapeisDosUsuarios(""), true, meterRegistry);
+    }
+
+
+    @AfterEach
+    void limpar() {
+        SecurityContextHolder.clearContext();
+    }
+
+
+    @Test
+    void autenticaPelasClaimsSemConsultarOBanco() throws Exception {
+        Mockito.when(jwtUtil.verificar(TOKEN)).thenReturn(Optional.of(token(List.of("ROLE_USER"), 0L)));
+
+
+        Authentication autenticacao = filtrar();
+
+
+        Assertions.assertEquals("teste-t", autenticacao.getName());
+        Assertions.assertEquals("ROLE_USER", autenticacao.getAuthorities().iterator().next().getAuthority());
+        Mockito.verifyNoInteractions(repository);
+        Assertions.assertEquals(1, meterRegistry.get("jwt.filtro").tag("resultado", "autenticado").timer().count());
+    }
+
+
+    @Test
+    void tokenDeVersaoRevogadaNaoAutentica() throws Exception {
+        Mockito.when(jwtUtil.verificar(TOKEN)).thenReturn(Optional.of(token(List.of("ROLE_USER"), 0L)));
+        versoesDosUsuarios.registrar("teste-t", 1L);
+
+
+        Assertions.assertNull(filtrar());
+        Assertions.assertEquals(1, meterRegistry.get("jwt.filtro").tag("resultado", "recusado").timer().count());
+    }
+
+
+    @Test
+    void revogacaoFeitaEmOutraInstanciaChegaPelaAtualizacao() throws Exception {
+        Mockito.when(jwtUtil.verificar(TOKEN)).thenReturn(Optional.of(token(List.of("ROLE_USER"), 1L)));
+        Mockito.when(repository.versoesRevogadas()).thenReturn(List.of(new VersaoDoUsuario("teste-t", 2L)));
+        versoesDosUsuarios.registrar("teste-t", 1L);
+        Assertions.assertNotNull(filtrar());
+        SecurityContextHolder.clearContext();
+
+
+        versoesDosUsuarios.atualizar();
+
+
+        Assertions.assertNull(filtrar());
+    }
+
+
+    @Test
+    void tokenSemClaimsDeAutenticacaoBuscaOUsuarioNoBanco() throws Exception {
+        Mockito.when(jwtUtil.verificar(TOKEN)).thenReturn(Optional.of(token(null, null)));
+        Mockito.when(repository.findByUsuario("teste-t"))
+                .thenReturn(Optional.of(new Usuario(1L, "teste-t", "senhaCriptografada", "teste12@hotmail.com")));
+
+
+        Authentication autenticacao = filtrar();
+
+
+        Assertions.assertEquals("teste-t", autenticacao.getName());
+        Mockito.verify(repository, Mockito.times(1)).findByUsuario("teste-t");
+    }
+
+
+    @Test
+    void tokenSemVersaoDeUsuarioRevogadoNaoAutentica() throws Exception {
+        Mockito.when(jwtUtil.verificar(TOKEN)).thenReturn(Optional.of(token(null, null)));
+        Mockito.when(repository.findByUsuario("teste-t"))
+                .thenReturn(Optional.of(new Usuario(1L, "teste-t", "senhaCriptografada", "teste12@hotmail.com")));
+        versoesDosUsuarios.registrar("teste-t", 1L);
+
+
+        Assertions.assertNull(filtrar());
+    }
+
+
+    @Test
+    void semOModoSemConsultaOUsuarioVemDoBanco() throws Exception {
+        filter = new JwtFilter(repository, jwtUtil, versoesDosUsuarios, new PapeisDosUsuarios(""), false, meterRegistry);
+        Mockito.when(jwtUtil.verificar(TOKEN)).thenReturn(Optional.of(token(List.of("ROLE_USER"), 0L)));
+
+
+        Assertions.assertNull(filtrar());
+        Mockito.verify(repository, Mockito.times(1)).findByUsuario("teste-t");
+    }
+
+
+    private Authentication filtrar() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+
+    private static TokenVerificado token(List<String> papeis, Long versao) {
+        return new TokenVerificado("teste-t", Instant.now().plusSeconds(3600), papeis, versao);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.UsuarioTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtConfig;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtUtil;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.TokenVerificado;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.TokensVerificados;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+public class JwtUtilTest {
+    private static final String CHAVE = "eAhGpD9SJ9Or2IReItSkhsozIEMTvIRT2jPd76YO89LsCWhv20";
+    private static final String OUTRA_CHAVE = "Zm9vYmFyYmF6cXV4Zm9vYmFyYmF6cXV4Zm9vYmFyYmF6cXV4Zm9vYmFy";
+
+    private final UserDetails usuario = User.builder().username("teste-t").password("senha").roles("USER").build();
+    private JwtUtil jwtUtil;
+
+
+    @BeforeEach
+    void testDown() {
+        jwtUtil = Mockito.spy(jwtUtil(CHAVE, 3_600_000L));
+    }
+
+
+    @Test
+    void tokenValidoEParseadoUmaVezSo() {
+        String token = jwtUtil.generadorDeKey(usuario);
+
+
+        Optional<TokenVerificado> primeira = jwtUtil.verificar(token);
+        Optional<TokenVerificado> segunda = jwtUtil.verificar(token);
+
+
+        Assertions.assertEquals("teste-t", primeira.orElseThrow().usuario());
+        Assertions.assertEquals(primeira, segunda);
+        Assertions.assertTrue(jwtUtil.verificarClaims(token, usuario));
+        Mockito.verify(jwtUtil, Mockito.times(1)).claimsAll(token);
+    }
+
+
+    @Test
+    void papeisEVersaoVaoNasClaims() {
+        String token = jwtUtil.generadorDeKey(usuario, 4L);
+
+
+        TokenVerificado verificado = jwtUtil.verificar(token).orElseThrow();
+
+
+        Assertions.assertEquals(List.of("ROLE_USER"), verificado.papeis());
+        Assertions.assertEquals(4L, verificado.versao());
+        Assertions.assertTrue(verificado.temClaimsDeAutenticacao());
+    }
+
+
+    @Test
+    void tokenExpiradoNaoEVerificado() {
+        String token = jwtUtil(CHAVE, -1_000L).generadorDeKey(usuario);
+
+
+        Assertions.assertTrue(jwtUtil.verificar(token).isEmpty());
+        Assertions.assertTrue(jwtUtil.verificar(token).isEmpty());
+        Mockito.verify(jwtUtil, Mockito.times(2)).claimsAll(token);
+    }
+
+
+    @Test
+    void tokenDeOutraChaveOuAlteradoNaoEVerificado() {
+        String deOutraChave = jwtUtil(OUTRA_CHAVE, 3_600_000L).generadorDeKey(usuario);
+        String token = jwtUtil.generadorDeKey(usuario);
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+
+        Assertions.assertTrue(jwtUtil.verificar(deOutraChave).isEmpty());
+        Assertions.assertTrue(jwtUtil.verificar(alterado).isEmpty());
+        Assertions.assertTrue(jwtUtil.verificar("nao-e-um-jwt").isEmpty());
+    }
+
+
+    @Test
+    void tokenDeOutroUsuarioNaoConfere() {
+        String token = jwtUtil.generadorDeKey(usuario);
+        UserDetails outro = User.builder().username("outro").password("senha").roles("USER").build();
+
+
+        Assertions.assertFalse(jwtUtil.verificarClaims(token, outro));
+    }
+
+
+    private static JwtUtil jwtUtil(String chave, long expiracao) {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secretKey", chave);
+        ReflectionTestUtils.setField(jwtConfig, "expiration", expiracao);
+        return new JwtUtil(jwtConfig, new TokensVerificados(100));
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.UsuarioTest;
+
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.FilaDeLogin;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.CodificadorDeSenhas;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtUtil;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.VersoesDosUsuarios;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.PapeisDosUsuarios;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.UsuarioService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+public class LoginTest {
+
+
+    @Test
+    void filaCheiaRecusaOLoginNaHora() throws Exception {
+        FilaDeLogin fila = new FilaDeLogin(1, 1, 2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> emExecucao = fila.submeter(() -> {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "primeiro";
+            });
+            CompletableFuture<String> naFila = fila.submeter(() -> "segundo");
+
+
+            Assertions.assertThrows(RejectedExecutionException.class, () -> fila.submeter(() -> "terceiro"));
+
+            liberar.countDown();
+            Assertions.assertEquals("primeiro", emExecucao.get());
+            Assertions.assertEquals("segundo", naFila.get());
+        } finally {
+            liberar.countDown();
+            fila.destroy();
+        }
+    }
+
+
+    @Test
+    void usuarioInexistenteRecebeAMesmaRespostaQueSenhaErradaEConfereUmHash() {
+        UsuarioRepository repository = Mockito.mock(UsuarioRepository.class);
+        CodificadorDeSenhas codificador = Mockito.spy(new CodificadorDeSenhas(4));
+        FilaDeLogin fila = new FilaDeLogin(1, 4, 2);
+        UsuarioService service = new UsuarioService(repository, codificador, Mockito.mock(JwtUtil.class),
+                Mockito.mock(VersoesDosUsuarios.class), fila, new PapeisDosUsuarios(""));
+        Usuario ana = new Usuario(1L, "ana", codificador.encode("senhasegura123"), "ana@exemplo.com");
+        Mockito.when(repository.findByUsuario("ana")).thenReturn(Optional.of(ana));
+        Mockito.when(repository.findByUsuario("inexistente")).thenReturn(Optional.empty());
+        try {
+            ResponseEntity<?> senhaErrada = service.login(new Usuario(null, "ana", "outrasenha", null)).join();
+            ResponseEntity<?> inexistente = service.login(new Usuario(null, "inexistente", "outrasenha", null)).join();
+
+
+            Assertions.assertEquals(HttpStatus.UNAUTHORIZED, senhaErrada.getStatusCode());
+            Assertions.assertEquals(senhaErrada.getStatusCode(), inexistente.getStatusCode());
+            Assertions.assertEquals(senhaErrada.getBody(), inexistente.getBody());
+            Mockito.verify(codificador, Mockito.times(2)).encode(Mockito.any());
+            Mockito.verify(codificador, Mockito.times(2)).matches(Mockito.eq("outrasenha"), Mockito.anyString());
+        } finally {
+            fila.destroy();
+        }
+    }
+
+
+    @Test
+    void hashComOutroCustoPedeParaSerRefeito() {
+        CodificadorDeSenhas custo4 = new CodificadorDeSenhas(4);
+        CodificadorDeSenhas custo5 = new CodificadorDeSenhas(5);
+        String hash = custo5.encode("senhasegura123");
+
+
+        Assertions.assertTrue(custo4.matches("senhasegura123", hash));
+        Assertions.assertTrue(custo4.upgradeEncoding(hash));
+        Assertions.assertFalse(custo5.upgradeEncoding(hash));
+        Assertions.assertTrue(new CodificadorDeSenhas(6).upgradeEncoding(hash));
+        Assertions.assertFalse(custo4.upgradeEncoding("nao-e-bcrypt"));
+    }
+}
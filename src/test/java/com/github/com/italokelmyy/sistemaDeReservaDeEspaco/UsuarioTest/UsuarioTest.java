@@ -1,8 +1,11 @@
 package com.github.com.italokelmyy.sistemaDeReservaDeEspaco.UsuarioTest;
 
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Component.FilaDeLogin;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Entity.Usuario;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Repository.UsuarioRepository;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.JwtUtil;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.JwtSecurity.VersoesDosUsuarios;
+import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Security.PapeisDosUsuarios;
 import com.github.com.italokelmyy.sistemaDeReservaDeEspaco.Service.UsuarioService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,10 +14,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -22,6 +26,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 
 public class UsuarioTest {
@@ -31,9 +38,13 @@ public class UsuarioTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
-    private AuthenticationManager manager;
-    @Mock
     private JwtUtil jwtUtil;
+    @Mock
+    private VersoesDosUsuarios versoesDosUsuarios;
+    @Mock
+    private FilaDeLogin filaDeLogin;
+    @Spy
+    private PapeisDosUsuarios papeisDosUsuarios = new PapeisDosUsuarios("");
 
     @InjectMocks
     private UsuarioService service;
@@ -41,6 +52,8 @@ public class UsuarioTest {
     @BeforeEach
     void testDown() {
         MockitoAnnotations.openMocks(this);
+        Mockito.when(filaDeLogin.submeter(Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
     }
 
 
@@ -50,7 +63,7 @@ public class UsuarioTest {
         Usuario usuario = new Usuario();
         usuario.setId(1L);
         usuario.setUsuario("teste-t");
-        usuario.setSenha(passwordEncoder.encode("senhasegura123"));
+        usuario.setSenha("senhasegura123");
         usuario.setEmail("teste12@hotmail.com");
 
         Mockito.when(repository.save(Mockito.any(Usuario.class))).thenReturn(usuario);
@@ -69,16 +82,16 @@ public class UsuarioTest {
         Usuario usuario1 = new Usuario();
         usuario1.setId(1L);
         usuario1.setUsuario("teste-t");
-        usuario1.setSenha(passwordEncoder.encode("senhasegura123"));
+        usuario1.setSenha("senhasegura123");
         usuario1.setEmail("teste12@hotmail.com");
 
-        Mockito.when(repository.save(Mockito.any(Usuario.class))).thenReturn(usuario1);
-        Mockito.when(repository.findByUsuario(usuario1.getUsuario())).thenReturn(Optional.of(usuario1));
+        Mockito.when(repository.save(Mockito.any(Usuario.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'teste-t' for key 'usuario.uk_usuario_usuario'"));
 
         Usuario usuarioJaCadastrado = new Usuario();
         usuarioJaCadastrado.setId(1L);
         usuarioJaCadastrado.setUsuario("teste-t");
-        usuarioJaCadastrado.setSenha(passwordEncoder.encode("senhasegura123"));
+        usuarioJaCadastrado.setSenha("senhasegura123");
         usuarioJaCadastrado.setEmail("teste12@hotmail.com");
 
         ResponseEntity<?> erroUsuario = service.cadastro(usuarioJaCadastrado);
@@ -86,7 +99,8 @@ public class UsuarioTest {
         Assertions.assertEquals(HttpStatus.CONFLICT, erroUsuario.getStatusCode());
         Assertions.assertEquals("Usuário já cadastrado", erroUsuario.getBody());
 
-        Mockito.verify(repository, Mockito.times(1)).findByUsuario(usuarioJaCadastrado.getUsuario());
+        Mockito.verify(repository, Mockito.times(1)).save(usuarioJaCadastrado);
+        Mockito.verify(repository, Mockito.never()).findByUsuario(Mockito.anyString());
     }
 
 
@@ -95,16 +109,16 @@ public class UsuarioTest {
         Usuario usuario1 = new Usuario();
         usuario1.setId(1L);
         usuario1.setUsuario("teste-t");
-        usuario1.setSenha(passwordEncoder.encode("senhasegura123"));
+        usuario1.setSenha("senhasegura123");
         usuario1.setEmail("teste12@hotmail.com");
 
-        Mockito.when(repository.save(Mockito.any(Usuario.class))).thenReturn(usuario1);
-        Mockito.when(repository.findByEmail(usuario1.getEmail())).thenReturn(Optional.of(usuario1));
+        Mockito.when(repository.save(Mockito.any(Usuario.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'teste12@hotmail.com' for key 'usuario.uk_usuario_email'"));
 
         Usuario emailJaCadastrado = new Usuario();
         emailJaCadastrado.setId(1L);
         emailJaCadastrado.setUsuario("teste-t2");
-        emailJaCadastrado.setSenha(passwordEncoder.encode("senhasegura123"));
+        emailJaCadastrado.setSenha("senhasegura123");
         emailJaCadastrado.setEmail("teste12@hotmail.com");
 
         ResponseEntity<?> erroEmail = service.cadastro(emailJaCadastrado);
@@ -112,7 +126,19 @@ public class UsuarioTest {
         Assertions.assertEquals(HttpStatus.CONFLICT, erroEmail.getStatusCode());
         Assertions.assertEquals("E-mail já cadastrado", erroEmail.getBody());
 
-        Mockito.verify(repository, Mockito.times(1)).findByEmail(emailJaCadastrado.getEmail());
+        Mockito.verify(repository, Mockito.times(1)).save(emailJaCadastrado);
+        Mockito.verify(repository, Mockito.never()).findByEmail(Mockito.anyString());
+    }
+
+    @Test
+    void erro_AoCadastrarSemSenha() {
+        Usuario semSenha = new Usuario(null, "teste-t", null, "teste12@hotmail.com");
+
+        ResponseEntity<?> response = service.cadastro(semSenha);
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Assertions.assertEquals("Senha é obrigatório", response.getBody());
+        Mockito.verifyNoInteractions(repository);
     }
 
     @Test
@@ -126,6 +152,8 @@ public class UsuarioTest {
         usuario1.setUsuario("teste-t");
         usuario1.setSenha(senhaCriptografada);
         usuario1.setEmail("teste12@hotmail.com");
+        // Linha gravada antes da coluna versao existir
+        usuario1.setVersao(null);
 
         Usuario loginUsuario = new Usuario();
         loginUsuario.setUsuario("teste-t");
@@ -138,18 +166,63 @@ public class UsuarioTest {
                 .build();
 
         Mockito.when(repository.findByUsuario(usuario1.getUsuario())).thenReturn(Optional.of(usuario1));
+        Mockito.when(passwordEncoder.matches(senhaCriptografada, senhaCriptografada)).thenReturn(true);
 
-        Mockito.when(jwtUtil.generadorDeKey(userDetails)).thenReturn(token);
+        Mockito.when(jwtUtil.generadorDeKey(userDetails, 0L)).thenReturn(token);
 
-        ResponseEntity<?> loginToken = service.login(loginUsuario);
+        ResponseEntity<?> loginToken = service.login(loginUsuario).join();
 
         Assertions.assertEquals(token, loginToken.getBody());
         Assertions.assertEquals(HttpStatus.OK, loginToken.getStatusCode());
 
         Mockito.verify(repository, Mockito.times(1)).findByUsuario(loginUsuario.getUsuario());
-        Mockito.verify(manager, Mockito.times(1)).authenticate(
-                new UsernamePasswordAuthenticationToken(loginUsuario.getUsuario(), loginUsuario.getSenha())
-        );
+        Mockito.verify(repository, Mockito.never()).atualizarSenha(Mockito.any(), Mockito.any());
+    }
+
+
+    @Test
+    void erro_AoFazerLoginComSenhaErrada() {
+        Usuario usuario1 = new Usuario(1L, "teste-t", "senhaCriptografada", "teste12@hotmail.com");
+        Usuario loginUsuario = new Usuario(null, "teste-t", "senhaErrada", null);
+
+        Mockito.when(repository.findByUsuario("teste-t")).thenReturn(Optional.of(usuario1));
+        Mockito.when(passwordEncoder.matches("senhaErrada", "senhaCriptografada")).thenReturn(false);
+
+        ResponseEntity<?> response = service.login(loginUsuario).join();
+
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        Assertions.assertEquals("Usuário ou senha inválidos", response.getBody());
+        Mockito.verifyNoInteractions(jwtUtil);
+    }
+
+
+    @Test
+    void sucesso_AoRefazerOHashComCustoAntigoNoLogin() {
+        Usuario usuario1 = new Usuario(1L, "teste-t", "hashComCustoAntigo", "teste12@hotmail.com");
+        Usuario loginUsuario = new Usuario(null, "teste-t", "senhasegura123", null);
+
+        Mockito.when(repository.findByUsuario("teste-t")).thenReturn(Optional.of(usuario1));
+        Mockito.when(passwordEncoder.matches("senhasegura123", "hashComCustoAntigo")).thenReturn(true);
+        Mockito.when(passwordEncoder.upgradeEncoding("hashComCustoAntigo")).thenReturn(true);
+        Mockito.when(passwordEncoder.encode("senhasegura123")).thenReturn("hashComCustoNovo");
+
+        ResponseEntity<?> response = service.login(loginUsuario).join();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Mockito.verify(repository, Mockito.times(1)).atualizarSenha(1L, "hashComCustoNovo");
+    }
+
+
+    @Test
+    void erro_AoFazerLoginComAFilaCheia() {
+        Mockito.doThrow(new RejectedExecutionException()).when(filaDeLogin).submeter(Mockito.any());
+        Mockito.when(filaDeLogin.retryAfterSegundos()).thenReturn(2);
+
+        ResponseEntity<?> response = service.login(new Usuario(null, "teste-t", "senhasegura123", null)).join();
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        Assertions.assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Mockito.verifyNoInteractions(repository);
     }
 
 
@@ -162,10 +235,10 @@ public class UsuarioTest {
 
         Mockito.when(repository.findByUsuario(usuario1.getUsuario())).thenReturn(Optional.empty());
 
-        ResponseEntity<?> erroUsername = service.login(usuario1);
+        ResponseEntity<?> erroUsername = service.login(usuario1).join();
 
-        Assertions.assertEquals(HttpStatus.NOT_FOUND, erroUsername.getStatusCode());
-        Assertions.assertEquals("Usuário não cadastrado", erroUsername.getBody());
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, erroUsername.getStatusCode());
+        Assertions.assertEquals("Usuário ou senha inválidos", erroUsername.getBody());
         Mockito.verify(repository, Mockito.times(1)).findByUsuario(usuario1.getUsuario());
     }
 
@@ -204,4 +277,32 @@ public class UsuarioTest {
         Mockito.verify(repository, Mockito.times(1)).findByUsuario(username);
     }
 
+
+    @Test
+    void sucesso_AoRevogarOsTokensDoUsuario() {
+        Usuario usuario1 = new Usuario(1L, "teste-t", "senhaCriptografada", "teste12@hotmail.com");
+        usuario1.setVersao(3L);
+
+        Mockito.when(repository.revogarTokens("teste-t")).thenReturn(1);
+        Mockito.when(repository.findByUsuario("teste-t")).thenReturn(Optional.of(usuario1));
+
+        ResponseEntity<?> response = service.revogarTokens("teste-t");
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Mockito.verify(versoesDosUsuarios, Mockito.times(1)).registrar("teste-t", 3L);
+    }
+
+
+    @Test
+    void erro_AoRevogarTokensDeUsuarioInexistente() {
+
+        Mockito.when(repository.revogarTokens("usuárioInexistente")).thenReturn(0);
+
+        ResponseEntity<?> response = service.revogarTokens("usuárioInexistente");
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals("Usuário não cadastrado", response.getBody());
+        Mockito.verifyNoInteractions(versoesDosUsuarios);
+    }
+
 }
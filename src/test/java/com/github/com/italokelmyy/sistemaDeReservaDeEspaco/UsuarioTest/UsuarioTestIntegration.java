@@ -69,6 +69,8 @@ public class UsuarioTestIntegration {
 
         Usuario usuarioJaCadastrado = new Usuario();
         usuarioJaCadastrado.setUsuario(usuario.getUsuario());
+        usuarioJaCadastrado.setSenha("senhaSegura123");
+        usuarioJaCadastrado.setEmail("outro12@hotmail.com");
 
 
         ResponseEntity<?> erroUser = service.cadastro(usuarioJaCadastrado);
@@ -87,6 +89,8 @@ public class UsuarioTestIntegration {
         repository.save(usuario);
 
         Usuario emailJaCadastrado = new Usuario();
+        emailJaCadastrado.setUsuario("test2");
+        emailJaCadastrado.setSenha("senhaSegura123");
         emailJaCadastrado.setEmail(usuario.getEmail());
 
         ResponseEntity<?> erroEmail = service.cadastro(emailJaCadastrado);
@@ -123,7 +127,7 @@ public class UsuarioTestIntegration {
 
 
         String generatedToken = jwtUtil.generadorDeKey(user);
-        ResponseEntity<?> sucessLogin = service.login(login);
+        ResponseEntity<?> sucessLogin = service.login(login).join();
 
         Assertions.assertEquals(HttpStatus.OK, sucessLogin.getStatusCode());
         Assertions.assertNotNull(generatedToken);
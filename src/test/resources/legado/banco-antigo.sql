@@ -0,0 +1,10 @@
+-- Banco de antes das sequências: a tabela sala com ids vindos de IDENTITY.
+create table if not exists sala (id bigint primary key, codigo varchar(255));
+merge into sala (id, codigo) key (id) values (700, 'sala-legada');
+create table if not exists salareservada (id bigint primary key, sala_id bigint, horario_agendado varchar(255), inicio timestamp, fim timestamp);
+merge into salareservada (id, sala_id, horario_agendado, inicio, fim) key (id) values
+    (900, 700, '14:00', timestamp '2025-03-10 14:00:00', timestamp '2025-03-10 14:30:00'),
+    (901, 700, '14:40', timestamp '2025-03-10 14:40:00', timestamp '2025-03-10 15:10:00');
+-- Reserva de antes de data/inicio/fim: só o horário. Inserida uma vez, para que a migração não seja desfeita a cada conexão.
+insert into salareservada (id, sala_id, horario_agendado)
+    select 902, 700, '16:00' where not exists (select 1 from salareservada where id = 902);